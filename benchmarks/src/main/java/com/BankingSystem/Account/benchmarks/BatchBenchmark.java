@@ -0,0 +1,78 @@
+package com.BankingSystem.Account.benchmarks;
+
+import com.BankingSystem.Account.dto.BatchOperationResponse;
+import com.BankingSystem.Account.dto.WalletOperationRequest;
+import com.BankingSystem.Account.dto.WalletResponse;
+import com.BankingSystem.Account.service.WalletBatchService;
+import com.BankingSystem.Account.service.WalletService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Payout-style workload: the same deposits over many wallets sent as single
+ * WalletService calls and as one WalletBatchService batch. Scores are deposits/sec.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BatchBenchmark {
+    
+    private static final int PAYOUT_COUNT = 1000;
+    
+    @Param({"100"})
+    public int walletCount;
+    
+    private BenchmarkContext context;
+    private WalletService walletService;
+    private WalletBatchService walletBatchService;
+    private List<WalletOperationRequest> payouts;
+    
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        context = BenchmarkContext.start();
+        walletService = context.getBean(WalletService.class);
+        walletBatchService = context.getBean(WalletBatchService.class);
+        
+        List<UUID> walletIds = new ArrayList<>(walletCount);
+        for (int i = 0; i < walletCount; i++) {
+            UUID walletId = UUID.randomUUID();
+            walletService.createWallet(walletId);
+            walletIds.add(walletId);
+        }
+        payouts = new ArrayList<>(PAYOUT_COUNT);
+        for (int i = 0; i < PAYOUT_COUNT; i++) {
+            payouts.add(new WalletOperationRequest(walletIds.get(i % walletCount),
+                WalletOperationRequest.OperationType.DEPOSIT, new BigDecimal("2.50")));
+        }
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(PAYOUT_COUNT)
+    public void singleCalls(Blackhole blackhole) {
+        for (WalletOperationRequest payout : payouts) {
+            WalletResponse response = walletService.processOperation(payout);
+            blackhole.consume(response);
+        }
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(PAYOUT_COUNT)
+    public BatchOperationResponse batch() {
+        return walletBatchService.process(payouts);
+    }
+}
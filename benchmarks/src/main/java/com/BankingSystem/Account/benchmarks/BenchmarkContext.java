@@ -0,0 +1,68 @@
+package com.BankingSystem.Account.benchmarks;
+
+import com.BankingSystem.Account.BankAccountApplication;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The application without its web layer, on an embedded Postgres started per fork (which
+ * refuses to run as root). To use an existing database instead, pass
+ * -Dwallet.bench.jdbc-url=jdbc:postgresql://... (with -Dwallet.bench.username /
+ * -Dwallet.bench.password) through -jvmArgsAppend.
+ */
+final class BenchmarkContext implements AutoCloseable {
+    
+    private final EmbeddedPostgres postgres;
+    private final ConfigurableApplicationContext context;
+    
+    private BenchmarkContext(EmbeddedPostgres postgres, ConfigurableApplicationContext context) {
+        this.postgres = postgres;
+        this.context = context;
+    }
+    
+    /**
+     * @param properties extra application properties, as "--name=value" arguments
+     */
+    static BenchmarkContext start(String... properties) throws IOException {
+        EmbeddedPostgres postgres = null;
+        String jdbcUrl = System.getProperty("wallet.bench.jdbc-url");
+        if (jdbcUrl == null) {
+            postgres = EmbeddedPostgres.start();
+            jdbcUrl = postgres.getJdbcUrl("postgres", "postgres");
+        }
+        
+        // Passed as arguments so they take precedence over the application's own application.yml
+        List<String> args = new ArrayList<>(List.of(
+            "--spring.datasource.url=" + jdbcUrl,
+            "--spring.datasource.username=" + System.getProperty("wallet.bench.username", "postgres"),
+            "--spring.datasource.password=" + System.getProperty("wallet.bench.password", ""),
+            "--spring.jpa.show-sql=false",
+            "--logging.level.root=WARN",
+            "--logging.level.com.BankingSystem=WARN",
+            "--logging.level.org.hibernate.SQL=WARN"));
+        args.addAll(List.of(properties));
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(BankAccountApplication.class)
+            .web(WebApplicationType.NONE)
+            .logStartupInfo(false)
+            .run(args.toArray(String[]::new));
+        return new BenchmarkContext(postgres, context);
+    }
+    
+    <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+    
+    @Override
+    public void close() throws IOException {
+        context.close();
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+}
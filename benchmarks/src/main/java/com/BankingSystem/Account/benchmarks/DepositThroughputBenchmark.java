@@ -0,0 +1,88 @@
+package com.BankingSystem.Account.benchmarks;
+
+import com.BankingSystem.Account.dto.WalletOperationRequest;
+import com.BankingSystem.Account.dto.WalletResponse;
+import com.BankingSystem.Account.service.WalletDepositJournal;
+import com.BankingSystem.Account.service.WalletOperationCombiner;
+import com.BankingSystem.Account.service.WalletService;
+import com.BankingSystem.Account.service.WalletShardedEngine;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Deposits from 50 client threads spread over a handful of wallets, through per-request
+ * row locking or one of the optional write paths. Scores are deposits/sec; -p walletCount=1
+ * shows the hot-wallet case that combining targets.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(50)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DepositThroughputBenchmark {
+    
+    @Param({"row-locking", "combining", "sharded", "write-behind"})
+    public String writePath;
+    
+    @Param({"8"})
+    public int walletCount;
+    
+    private BenchmarkContext context;
+    private Function<WalletOperationRequest, WalletResponse> operation;
+    private WalletOperationRequest[] deposits;
+    private final AtomicInteger next = new AtomicInteger();
+    
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        switch (writePath) {
+            case "row-locking" -> {
+                context = BenchmarkContext.start();
+                operation = context.getBean(WalletService.class)::processOperation;
+            }
+            case "combining" -> {
+                context = BenchmarkContext.start("--wallet.combining.enabled=true");
+                operation = context.getBean(WalletOperationCombiner.class)::submit;
+            }
+            case "sharded" -> {
+                context = BenchmarkContext.start("--wallet.sharding.enabled=true", "--wallet.sharding.shards=4");
+                WalletShardedEngine walletShardedEngine = context.getBean(WalletShardedEngine.class);
+                operation = request -> walletShardedEngine.submit(request).join();
+            }
+            case "write-behind" -> {
+                String journalDirectory = Files.createTempDirectory("deposit-journal").toString();
+                context = BenchmarkContext.start("--wallet.write-behind.enabled=true",
+                    "--wallet.write-behind.directory=" + journalDirectory);
+                operation = context.getBean(WalletDepositJournal.class)::deposit;
+            }
+            default -> throw new IllegalArgumentException("Unknown write path " + writePath);
+        }
+        
+        WalletService walletService = context.getBean(WalletService.class);
+        deposits = new WalletOperationRequest[walletCount];
+        for (int i = 0; i < walletCount; i++) {
+            UUID walletId = UUID.randomUUID();
+            walletService.createWallet(walletId);
+            deposits[i] = new WalletOperationRequest(walletId,
+                WalletOperationRequest.OperationType.DEPOSIT, new BigDecimal("1.00"));
+        }
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+    }
+    
+    @Benchmark
+    public WalletResponse deposit() {
+        return operation.apply(deposits[Math.floorMod(next.getAndIncrement(), walletCount)]);
+    }
+}
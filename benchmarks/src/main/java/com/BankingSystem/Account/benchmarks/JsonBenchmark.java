@@ -0,0 +1,61 @@
+package com.BankingSystem.Account.benchmarks;
+
+import com.BankingSystem.Account.config.CborConfig;
+import com.BankingSystem.Account.dto.WalletOperationRequest;
+import com.BankingSystem.Account.dto.WalletResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson (de)serialization of the wallet operation DTOs, using an
+ * ObjectMapper built the same way Spring Boot builds the application's one,
+ * for JSON and for the CBOR wire format (binary UUIDs, minor-unit amounts)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonBenchmark {
+    
+    @Param({"json", "cbor"})
+    public String format;
+    
+    private ObjectReader requestReader;
+    private ObjectWriter responseWriter;
+    private byte[] requestBytes;
+    private WalletResponse response;
+    
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = "cbor".equals(format)
+            ? CborConfig.cborObjectMapper(Jackson2ObjectMapperBuilder.json())
+            : Jackson2ObjectMapperBuilder.json().build();
+        requestReader = objectMapper.readerFor(WalletOperationRequest.class);
+        responseWriter = objectMapper.writerFor(WalletResponse.class);
+        
+        UUID walletId = UUID.randomUUID();
+        requestBytes = objectMapper.writeValueAsBytes(new WalletOperationRequest(
+            walletId, WalletOperationRequest.OperationType.DEPOSIT, new BigDecimal("1000.00")));
+        response = new WalletResponse(walletId, new BigDecimal("123456.78"));
+    }
+    
+    @Benchmark
+    public WalletOperationRequest deserializeRequest() throws IOException {
+        return requestReader.readValue(requestBytes);
+    }
+    
+    @Benchmark
+    public byte[] serializeResponse() throws IOException {
+        return responseWriter.writeValueAsBytes(response);
+    }
+}
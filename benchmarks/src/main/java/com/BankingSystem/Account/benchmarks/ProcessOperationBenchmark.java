@@ -0,0 +1,110 @@
+package com.BankingSystem.Account.benchmarks;
+
+import com.BankingSystem.Account.dto.WalletOperationRequest;
+import com.BankingSystem.Account.dto.WalletResponse;
+import com.BankingSystem.Account.exception.InsufficientFundsException;
+import com.BankingSystem.Account.service.WalletService;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Full WalletService.processOperation: transaction, locking, retry and cache advice
+ * plus the database round trips, without the HTTP layer (see {@link BenchmarkContext}).
+ * Run with -t 50 -p walletCount=1 to compare the write paths on one hot wallet.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProcessOperationBenchmark {
+    
+    @Param({"locking-select", "conditional-update"})
+    public String writePath;
+    
+    // "default" is the JPA path; tuned-persistence adds driver statement tuning and plain JDBC
+    @Param({"default", "tuned-persistence"})
+    public String profile;
+    
+    @Param({"100"})
+    public int walletCount;
+    
+    private BenchmarkContext context;
+    private WalletOperationRequest[] deposits;
+    private WalletOperationRequest[] withdrawals;
+    private WalletOperationRequest[] overdrafts;
+    private final AtomicInteger next = new AtomicInteger();
+    
+    private WalletService walletService;
+    
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        context = BenchmarkContext.start(
+            "--wallet.write-path=" + writePath,
+            "--spring.profiles.active=" + profile);
+        walletService = context.getBean(WalletService.class);
+        
+        deposits = new WalletOperationRequest[walletCount];
+        withdrawals = new WalletOperationRequest[walletCount];
+        overdrafts = new WalletOperationRequest[walletCount];
+        for (int i = 0; i < walletCount; i++) {
+            UUID walletId = UUID.randomUUID();
+            walletService.createWallet(walletId);
+            // Enough headroom that withdrawals never fail during the run
+            walletService.processOperation(new WalletOperationRequest(walletId,
+                WalletOperationRequest.OperationType.DEPOSIT, new BigDecimal("1000000000.00")));
+            deposits[i] = new WalletOperationRequest(walletId,
+                WalletOperationRequest.OperationType.DEPOSIT, new BigDecimal("10.00"));
+            withdrawals[i] = new WalletOperationRequest(walletId,
+                WalletOperationRequest.OperationType.WITHDRAW, new BigDecimal("10.00"));
+            
+            // Left empty, so every withdrawal from it is rejected
+            UUID emptyWalletId = UUID.randomUUID();
+            walletService.createWallet(emptyWalletId);
+            overdrafts[i] = new WalletOperationRequest(emptyWalletId,
+                WalletOperationRequest.OperationType.WITHDRAW, new BigDecimal("10.00"));
+        }
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+    }
+    
+    @Benchmark
+    public WalletResponse deposit() {
+        return walletService.processOperation(deposits[nextIndex()]);
+    }
+    
+    @Benchmark
+    public WalletResponse withdraw() {
+        return walletService.processOperation(withdrawals[nextIndex()]);
+    }
+    
+    /**
+     * Deposits and withdrawals where 3 calls in 10 are withdrawals rejected for insufficient funds
+     */
+    @Benchmark
+    public Object withRejectedWithdrawals() {
+        int i = next.getAndIncrement();
+        int wallet = Math.floorMod(i, walletCount);
+        if (Math.floorMod(i, 10) < 3) {
+            try {
+                return walletService.processOperation(overdrafts[wallet]);
+            } catch (InsufficientFundsException e) {
+                return e;
+            }
+        }
+        return walletService.processOperation((i & 1) == 0 ? deposits[wallet] : withdrawals[wallet]);
+    }
+    
+    private int nextIndex() {
+        return Math.floorMod(next.getAndIncrement(), walletCount);
+    }
+}
@@ -0,0 +1,70 @@
+package com.BankingSystem.Account.benchmarks;
+
+import com.BankingSystem.Account.dto.WalletOperationRequest;
+import com.BankingSystem.Account.dto.WalletResponse;
+import com.BankingSystem.Account.service.WalletService;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 100 threads deposit to one hot wallet while a single caller deposits to an unrelated one.
+ * The cold method's sampled percentiles are the latency the unrelated wallet pays for
+ * connections held by callers queued on the hot row, with and without the stripe lock.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@State(Scope.Group)
+public class StripedLockContentionBenchmark {
+    
+    @Param({"false", "true"})
+    public boolean striping;
+    
+    private BenchmarkContext context;
+    private WalletService walletService;
+    private WalletOperationRequest hotDeposit;
+    private WalletOperationRequest coldDeposit;
+    
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        context = BenchmarkContext.start(
+            "--wallet.lock-striping.enabled=" + striping,
+            // Long enough that queued hot callers are never turned away with 503
+            "--wallet.lock-striping.max-wait=PT60S");
+        walletService = context.getBean(WalletService.class);
+        
+        UUID hotWalletId = UUID.randomUUID();
+        UUID coldWalletId = UUID.randomUUID();
+        walletService.createWallet(hotWalletId);
+        walletService.createWallet(coldWalletId);
+        hotDeposit = new WalletOperationRequest(hotWalletId,
+            WalletOperationRequest.OperationType.DEPOSIT, new BigDecimal("1.00"));
+        coldDeposit = new WalletOperationRequest(coldWalletId,
+            WalletOperationRequest.OperationType.DEPOSIT, new BigDecimal("1.00"));
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+    }
+    
+    @Benchmark
+    @Group("hotWallet")
+    @GroupThreads(100)
+    public WalletResponse hot() {
+        return walletService.processOperation(hotDeposit);
+    }
+    
+    @Benchmark
+    @Group("hotWallet")
+    @GroupThreads(1)
+    public WalletResponse cold() {
+        return walletService.processOperation(coldDeposit);
+    }
+}
@@ -0,0 +1,54 @@
+package com.BankingSystem.Account.benchmarks;
+
+import com.BankingSystem.Account.dto.WalletOperationRequest;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bean validation of WalletOperationRequest, as @Valid runs it on every POST /api/v1/wallet
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValidationBenchmark {
+    
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private WalletOperationRequest validRequest;
+    private WalletOperationRequest invalidRequest;
+    
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        validRequest = new WalletOperationRequest(UUID.randomUUID(),
+            WalletOperationRequest.OperationType.DEPOSIT, new BigDecimal("1000.00"));
+        invalidRequest = new WalletOperationRequest(UUID.randomUUID(), null, BigDecimal.ZERO);
+    }
+    
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+    
+    @Benchmark
+    public Set<ConstraintViolation<WalletOperationRequest>> validRequest() {
+        return validator.validate(validRequest);
+    }
+    
+    @Benchmark
+    public Set<ConstraintViolation<WalletOperationRequest>> invalidRequest() {
+        return validator.validate(invalidRequest);
+    }
+}
@@ -0,0 +1,74 @@
+package com.BankingSystem.Account.benchmarks;
+
+import com.BankingSystem.Account.entity.Wallet;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory balance arithmetic of the Wallet entity, without any persistence
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class WalletArithmeticBenchmark {
+    
+    private final BigDecimal amount = new BigDecimal("12.34");
+    private final long amountMinor = 1234;
+    
+    private Wallet wallet;
+    private Wallet emptyWallet;
+    
+    @Setup(Level.Iteration)
+    public void setUp() {
+        wallet = new Wallet(UUID.randomUUID());
+        // Large enough that withdrawals never run dry within an iteration
+        wallet.setBalance(new BigDecimal("1000000000000000.00"));
+        emptyWallet = new Wallet(UUID.randomUUID());
+    }
+    
+    @Benchmark
+    public BigDecimal deposit() {
+        wallet.deposit(amount);
+        return wallet.getBalance();
+    }
+    
+    @Benchmark
+    public BigDecimal withdraw() {
+        wallet.withdraw(amount);
+        return wallet.getBalance();
+    }
+    
+    /**
+     * Minor-units arithmetic as the service runs it, after the edge conversion
+     */
+    @Benchmark
+    public long depositMinor() {
+        wallet.depositMinor(amountMinor);
+        return wallet.getBalanceMinor();
+    }
+    
+    @Benchmark
+    public long withdrawMinor() {
+        wallet.withdrawMinor(amountMinor);
+        return wallet.getBalanceMinor();
+    }
+    
+    /**
+     * Rejected withdrawal: measures the cost of the exception path
+     */
+    @Benchmark
+    public Object withdrawInsufficientFunds() {
+        try {
+            emptyWallet.withdraw(amount);
+            return emptyWallet.getBalance();
+        } catch (IllegalArgumentException e) {
+            return e;
+        }
+    }
+}
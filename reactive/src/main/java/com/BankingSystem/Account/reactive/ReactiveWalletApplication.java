@@ -0,0 +1,13 @@
+package com.BankingSystem.Account.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+@SpringBootApplication
+public class ReactiveWalletApplication {
+
+	public static void main(String[] args) {
+		SpringApplication.run(ReactiveWalletApplication.class, args);
+	}
+
+}
@@ -0,0 +1,65 @@
+package com.BankingSystem.Account.reactive.controller;
+
+import com.BankingSystem.Account.dto.WalletOperationRequest;
+import com.BankingSystem.Account.dto.WalletResponse;
+import com.BankingSystem.Account.reactive.service.ReactiveWalletService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * Same contract as the servlet WalletController, served from the event loop
+ */
+@RestController
+@RequestMapping("/api/v1")
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveWalletController {
+    
+    private final ReactiveWalletService walletService;
+    
+    /**
+     * Process wallet operation (DEPOSIT or WITHDRAW)
+     * POST /api/v1/wallet
+     */
+    @PostMapping("/wallet")
+    public Mono<ResponseEntity<WalletResponse>> processOperation(
+            @Valid @RequestBody WalletOperationRequest request) {
+        
+        log.info("Processing {} operation for wallet {}", 
+            request.getOperationType(), request.getValletId());
+        
+        return walletService.processOperation(request).map(ResponseEntity::ok);
+    }
+    
+    /**
+     * Get wallet balance
+     * GET /api/v1/wallets/{WALLET_UUID}
+     */
+    @GetMapping("/wallets/{walletId}")
+    public Mono<ResponseEntity<WalletResponse>> getWalletBalance(
+            @PathVariable UUID walletId) {
+        
+        log.info("Getting balance for wallet {}", walletId);
+        
+        return walletService.getWalletBalance(walletId).map(ResponseEntity::ok);
+    }
+    
+    /**
+     * Create a new wallet (helper endpoint for testing)
+     * POST /api/v1/wallets
+     */
+    @PostMapping("/wallets")
+    public Mono<ResponseEntity<WalletResponse>> createWallet(@RequestBody UUID walletId) {
+        log.info("Creating new wallet with ID {}", walletId);
+        
+        return walletService.createWallet(walletId)
+            .map(response -> ResponseEntity.status(HttpStatus.CREATED).body(response));
+    }
+}
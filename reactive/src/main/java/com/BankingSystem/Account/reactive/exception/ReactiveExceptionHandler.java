@@ -0,0 +1,146 @@
+package com.BankingSystem.Account.reactive.exception;
+
+import com.BankingSystem.Account.dto.ErrorResponse;
+import com.BankingSystem.Account.exception.InsufficientFundsException;
+import com.BankingSystem.Account.exception.WalletAlreadyExistsException;
+import com.BankingSystem.Account.exception.WalletNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.TypeMismatchException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ServerWebInputException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * WebFlux counterpart of GlobalExceptionHandler, producing the same error bodies
+ */
+@RestControllerAdvice
+@Slf4j
+public class ReactiveExceptionHandler {
+    
+    /**
+     * Handle wallet not found
+     */
+    @ExceptionHandler(WalletNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleWalletNotFound(
+            WalletNotFoundException ex, 
+            ServerHttpRequest request) {
+        
+        log.warn("Wallet not found: {}", ex.getMessage());
+        return error(HttpStatus.NOT_FOUND, "Not Found", ex.getMessage(), request);
+    }
+    
+    /**
+     * Handle creating a wallet whose ID is taken
+     */
+    @ExceptionHandler(WalletAlreadyExistsException.class)
+    public ResponseEntity<ErrorResponse> handleWalletAlreadyExists(
+            WalletAlreadyExistsException ex, 
+            ServerHttpRequest request) {
+        
+        log.warn("Wallet already exists: {}", ex.getMessage());
+        return error(HttpStatus.CONFLICT, "Conflict", ex.getMessage(), request);
+    }
+    
+    /**
+     * Handle insufficient funds
+     */
+    @ExceptionHandler(InsufficientFundsException.class)
+    public ResponseEntity<ErrorResponse> handleInsufficientFunds(
+            InsufficientFundsException ex, 
+            ServerHttpRequest request) {
+        
+        log.warn("Insufficient funds: {}", ex.getMessage());
+        return error(HttpStatus.BAD_REQUEST, "Bad Request", ex.getMessage(), request);
+    }
+    
+    /**
+     * Handle validation errors
+     */
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<ErrorResponse> handleValidationErrors(
+            WebExchangeBindException ex, 
+            ServerHttpRequest request) {
+        
+        List<String> errors = ex.getBindingResult()
+            .getFieldErrors()
+            .stream()
+            .map(FieldError::getDefaultMessage)
+            .collect(Collectors.toList());
+        
+        log.warn("Validation errors: {}", errors);
+        
+        ErrorResponse error = new ErrorResponse(
+            LocalDateTime.now(),
+            HttpStatus.BAD_REQUEST.value(),
+            "Validation Error",
+            "Invalid request parameters",
+            request.getPath().value(),
+            errors
+        );
+        
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+    
+    /**
+     * Handle unreadable bodies and malformed path variables (e.g., invalid UUID format)
+     */
+    @ExceptionHandler(ServerWebInputException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidInput(
+            ServerWebInputException ex, 
+            ServerHttpRequest request) {
+        
+        log.warn("Invalid input: {}", ex.getMessage());
+        
+        String message = ex.getCause() instanceof TypeMismatchException mismatch && ex.getMethodParameter() != null
+            ? String.format("Invalid value for parameter '%s': %s", 
+                ex.getMethodParameter().getParameterName(), mismatch.getValue())
+            : "Invalid JSON format";
+        return error(HttpStatus.BAD_REQUEST, "Bad Request", message, request);
+    }
+    
+    /**
+     * Handle illegal arguments
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ErrorResponse> handleIllegalArgument(
+            IllegalArgumentException ex, 
+            ServerHttpRequest request) {
+        
+        log.warn("Illegal argument: {}", ex.getMessage());
+        return error(HttpStatus.BAD_REQUEST, "Bad Request", ex.getMessage(), request);
+    }
+    
+    /**
+     * Handle all other exceptions
+     */
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ErrorResponse> handleGenericException(
+            Exception ex, 
+            ServerHttpRequest request) {
+        
+        log.error("Unexpected error: ", ex);
+        return error(HttpStatus.INTERNAL_SERVER_ERROR, "Internal Server Error", 
+            "An unexpected error occurred", request);
+    }
+    
+    private ResponseEntity<ErrorResponse> error(HttpStatus status, String error, String message, 
+            ServerHttpRequest request) {
+        ErrorResponse body = new ErrorResponse(
+            LocalDateTime.now(),
+            status.value(),
+            error,
+            message,
+            request.getPath().value()
+        );
+        return ResponseEntity.status(status).body(body);
+    }
+}
@@ -0,0 +1,66 @@
+package com.BankingSystem.Account.reactive.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * Wallet queries over R2DBC, with balances in minor units. Every write is a single statement, so no
+ * connection is held across a client round trip and no transaction is needed.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReactiveWalletRepository {
+    
+    private final DatabaseClient databaseClient;
+    
+    /**
+     * Same conditional UPDATE as the servlet write path: empty when the wallet
+     * is missing or the change would overdraw it
+     */
+    public Mono<Long> applyDelta(UUID id, long delta) {
+        return databaseClient.sql("""
+                UPDATE wallets
+                SET balance_minor = balance_minor + :delta, version = version + 1, updated_at = CURRENT_TIMESTAMP
+                WHERE id = :id AND balance_minor + :delta >= 0
+                RETURNING balance_minor
+                """)
+            .bind("id", id)
+            .bind("delta", delta)
+            .map(row -> row.get("balance_minor", Long.class))
+            .one();
+    }
+    
+    public Mono<Long> findBalance(UUID id) {
+        return databaseClient.sql("SELECT balance_minor FROM wallets WHERE id = :id")
+            .bind("id", id)
+            .map(row -> row.get("balance_minor", Long.class))
+            .one();
+    }
+    
+    public Mono<Boolean> existsById(UUID id) {
+        return databaseClient.sql("SELECT 1 FROM wallets WHERE id = :id")
+            .bind("id", id)
+            .map(row -> Boolean.TRUE)
+            .one()
+            .defaultIfEmpty(Boolean.FALSE);
+    }
+    
+    /**
+     * Insert a zero-balance wallet; empty when the ID is already taken
+     */
+    public Mono<Long> insert(UUID id) {
+        return databaseClient.sql("""
+                INSERT INTO wallets (id, balance_minor, version, created_at, updated_at)
+                VALUES (:id, 0, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)
+                ON CONFLICT (id) DO NOTHING
+                RETURNING balance_minor
+                """)
+            .bind("id", id)
+            .map(row -> row.get("balance_minor", Long.class))
+            .one();
+    }
+}
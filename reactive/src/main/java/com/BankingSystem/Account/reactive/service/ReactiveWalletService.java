@@ -0,0 +1,62 @@
+package com.BankingSystem.Account.reactive.service;
+
+import com.BankingSystem.Account.dto.MinorUnits;
+import com.BankingSystem.Account.dto.WalletOperationRequest;
+import com.BankingSystem.Account.dto.WalletResponse;
+import com.BankingSystem.Account.exception.InsufficientFundsException;
+import com.BankingSystem.Account.exception.WalletAlreadyExistsException;
+import com.BankingSystem.Account.exception.WalletNotFoundException;
+import com.BankingSystem.Account.reactive.repository.ReactiveWalletRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveWalletService {
+    
+    private final ReactiveWalletRepository walletRepository;
+    
+    /**
+     * Process deposit or withdrawal without blocking a thread.
+     * The conditional UPDATE needs no lock or retry loop; only a rejected
+     * update costs a second query to tell "not found" from "insufficient funds".
+     */
+    public Mono<WalletResponse> processOperation(WalletOperationRequest request) {
+        UUID walletId = request.getValletId();
+        long amount = MinorUnits.fromDecimal(request.getAmount());
+        long delta = request.getOperationType() == WalletOperationRequest.OperationType.WITHDRAW
+            ? -amount
+            : amount;
+        
+        return walletRepository.applyDelta(walletId, delta)
+            .map(balance -> new WalletResponse(walletId, MinorUnits.toDecimal(balance)))
+            .switchIfEmpty(Mono.defer(() -> walletRepository.existsById(walletId)
+                .flatMap(exists -> Mono.error(exists
+                    ? new InsufficientFundsException("Insufficient funds")
+                    : new WalletNotFoundException(walletId)))));
+    }
+    
+    /**
+     * Get wallet balance
+     */
+    public Mono<WalletResponse> getWalletBalance(UUID walletId) {
+        return walletRepository.findBalance(walletId)
+            .map(balance -> new WalletResponse(walletId, MinorUnits.toDecimal(balance)))
+            .switchIfEmpty(Mono.error(() -> new WalletNotFoundException(walletId)));
+    }
+    
+    /**
+     * Create new wallet
+     */
+    public Mono<WalletResponse> createWallet(UUID walletId) {
+        return walletRepository.insert(walletId)
+            .doOnNext(balance -> log.info("Created new wallet with ID: {}", walletId))
+            .map(balance -> new WalletResponse(walletId, MinorUnits.toDecimal(balance)))
+            .switchIfEmpty(Mono.error(() -> new WalletAlreadyExistsException(walletId)));
+    }
+}
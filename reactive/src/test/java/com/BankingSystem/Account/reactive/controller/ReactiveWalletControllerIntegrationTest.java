@@ -0,0 +1,195 @@
+package com.BankingSystem.Account.reactive.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureWebTestClient
+@Testcontainers
+public class ReactiveWalletControllerIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15")
+            .withDatabaseName("wallet_test_db")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.r2dbc.url", () -> String.format("r2dbc:postgresql://%s:%d/%s",
+            postgres.getHost(), postgres.getFirstMappedPort(), postgres.getDatabaseName()));
+        registry.add("spring.r2dbc.username", postgres::getUsername);
+        registry.add("spring.r2dbc.password", postgres::getPassword);
+        registry.add("spring.liquibase.url", postgres::getJdbcUrl);
+        registry.add("spring.liquibase.user", postgres::getUsername);
+        registry.add("spring.liquibase.password", postgres::getPassword);
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    private UUID testWalletId;
+
+    @BeforeEach
+    void setUp() {
+        webTestClient = webTestClient.mutate().responseTimeout(Duration.ofSeconds(30)).build();
+        databaseClient.sql("DELETE FROM wallet_transactions").then()
+            .then(databaseClient.sql("DELETE FROM wallet_balance_snapshots").then())
+            .then(databaseClient.sql("DELETE FROM wallets").then())
+            .block();
+        testWalletId = UUID.randomUUID();
+        databaseClient.sql("INSERT INTO wallets (id, balance_minor) VALUES (:id, 100000)")
+            .bind("id", testWalletId)
+            .then()
+            .block();
+    }
+
+    private String json(UUID id, String type, String amount) {
+        return String.format(
+            "{\"valletId\":\"%s\",\"operationType\":\"%s\",\"amount\":%s}",
+            id, type, amount
+        );
+    }
+
+    private WebTestClient.ResponseSpec postOperation(String body) {
+        return webTestClient.post().uri("/api/v1/wallet")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(body)
+            .exchange();
+    }
+
+    @Test
+    void testDeposit_Success() {
+        postOperation(json(testWalletId, "DEPOSIT", "500.00"))
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.walletId").isEqualTo(testWalletId.toString())
+            .jsonPath("$.balance").isEqualTo(1500.00);
+    }
+
+    @Test
+    void testWithdraw_Success() {
+        postOperation(json(testWalletId, "WITHDRAW", "300.00"))
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.walletId").isEqualTo(testWalletId.toString())
+            .jsonPath("$.balance").isEqualTo(700.00);
+    }
+
+    @Test
+    void testWithdraw_InsufficientFunds() {
+        postOperation(json(testWalletId, "WITHDRAW", "9999.00"))
+            .expectStatus().isBadRequest()
+            .expectBody()
+            .jsonPath("$.message").exists();
+    }
+
+    @Test
+    void testOperation_WalletNotFound() {
+        postOperation(json(UUID.randomUUID(), "DEPOSIT", "100.00"))
+            .expectStatus().isNotFound();
+    }
+
+    @Test
+    void testGetBalance_Success() {
+        webTestClient.get().uri("/api/v1/wallets/{walletId}", testWalletId)
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.walletId").isEqualTo(testWalletId.toString())
+            .jsonPath("$.balance").isEqualTo(1000.00);
+    }
+
+    @Test
+    void testGetBalance_NotFound() {
+        webTestClient.get().uri("/api/v1/wallets/{walletId}", UUID.randomUUID())
+            .exchange()
+            .expectStatus().isNotFound();
+    }
+
+    @Test
+    void testCreateWallet_Duplicate() {
+        webTestClient.post().uri("/api/v1/wallets")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue("\"" + testWalletId + "\"")
+            .exchange()
+            .expectStatus().isEqualTo(409)
+            .expectBody()
+            .jsonPath("$.error").isEqualTo("Conflict")
+            .jsonPath("$.message").isEqualTo("Wallet already exists with ID: " + testWalletId);
+    }
+
+    @Test
+    void testInvalidJson() {
+        postOperation("{ bad json }")
+            .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void testMissingAmount() {
+        String body = String.format(
+            "{\"valletId\":\"%s\",\"operationType\":\"DEPOSIT\"}", testWalletId
+        );
+        postOperation(body)
+            .expectStatus().isBadRequest()
+            .expectBody()
+            .jsonPath("$.errors").isArray();
+    }
+
+    @Test
+    void testInvalidUUID() {
+        webTestClient.get().uri("/api/v1/wallets/{walletId}", "not-a-uuid")
+            .exchange()
+            .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void testConcurrentDeposits_NoLostUpdates() {
+        int requests = 1000;
+        WebClient client = WebClient.create("http://localhost:" + port);
+
+        // Far more requests in flight than pooled connections or event-loop threads
+        Long succeeded = Flux.range(0, requests)
+            .flatMap(i -> client.post().uri("/api/v1/wallet")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(json(testWalletId, "DEPOSIT", "1.00"))
+                .retrieve()
+                .toBodilessEntity(), 200)
+            .count()
+            .block(Duration.ofSeconds(60));
+
+        assertEquals(requests, succeeded);
+        BigDecimal balance = databaseClient.sql("SELECT balance FROM wallets WHERE id = :id")
+            .bind("id", testWalletId)
+            .map(row -> row.get("balance", BigDecimal.class))
+            .one()
+            .block();
+        assertEquals(0, new BigDecimal("2000.00").compareTo(balance));
+    }
+}
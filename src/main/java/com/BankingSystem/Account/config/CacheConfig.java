@@ -0,0 +1,49 @@
+package com.BankingSystem.Account.config;
+
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.Cache;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.util.List;
+
+/**
+ * Balance cache in front of WalletService.getWalletBalance.
+ *
+ * The caching advice runs outside the transaction and retry advice, so a hit never
+ * opens a transaction. Caches are transaction-aware: puts and evictions issued
+ * inside a transaction are deferred to its afterCommit synchronization.
+ * Set spring.cache.type=none to turn the cache off.
+ */
+@Configuration
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfig {
+    
+    public static final String WALLET_BALANCES = "walletBalances";
+    
+    private static final String DEFAULT_SPEC = "maximumSize=100000,expireAfterWrite=5s,recordStats";
+    
+    @Bean
+    @ConditionalOnProperty(prefix = "spring.cache", name = "type", havingValue = "caffeine", matchIfMissing = true)
+    public CaffeineCacheManager cacheManager(CacheProperties cacheProperties) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+            @Override
+            protected Cache adaptCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                return new TransactionAwareCacheDecorator(super.adaptCaffeineCache(name, cache));
+            }
+        };
+        String spec = cacheProperties.getCaffeine().getSpec();
+        cacheManager.setCacheSpecification(spec != null ? spec : DEFAULT_SPEC);
+        cacheManager.setCacheNames(cacheProperties.getCacheNames().isEmpty()
+            ? List.of(WALLET_BALANCES)
+            : cacheProperties.getCacheNames());
+        return cacheManager;
+    }
+}
@@ -0,0 +1,33 @@
+package com.BankingSystem.Account.config;
+
+import com.BankingSystem.Account.dto.MinorUnitsModule;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * application/cbor next to JSON, for internal callers: the same DTOs and field names, chosen
+ * with Content-Type and Accept. UUIDs are 16-byte binary strings (Jackson writes them so in
+ * any binary format) and money is integer minor units. JSON stays the default for clients
+ * that accept anything. The schema is published at /schema/wallet.cddl.
+ */
+@Configuration
+public class CborConfig {
+    
+    /**
+     * Replaces the default CBOR converter, which would not get Spring Boot's Jackson settings
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(cborObjectMapper(builder));
+    }
+    
+    public static ObjectMapper cborObjectMapper(Jackson2ObjectMapperBuilder builder) {
+        ObjectMapper objectMapper = builder.factory(new CBORFactory()).build();
+        objectMapper.registerModule(new MinorUnitsModule());
+        return objectMapper;
+    }
+}
@@ -0,0 +1,18 @@
+package com.BankingSystem.Account.config;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+/**
+ * Async appender that, once its ring buffer is nearly full, drops only DEBUG and TRACE
+ * events; INFO and above still wait for space so no operational log line is lost.
+ * Used by the prod profile in logback-spring.xml.
+ */
+public class DebugDiscardingAsyncAppender extends AsyncAppender {
+    
+    @Override
+    protected boolean isDiscardable(ILoggingEvent event) {
+        return event.getLevel().toInt() <= Level.DEBUG_INT;
+    }
+}
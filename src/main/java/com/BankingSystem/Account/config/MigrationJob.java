@@ -0,0 +1,30 @@
+package com.BankingSystem.Account.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Exit once startup is done in the migrate profile: by then Liquibase has applied the
+ * changelog and Hibernate has validated the schema, which is all the job is for.
+ * Without it the scheduler threads would keep the JVM running.
+ */
+@Component
+@Profile("migrate")
+@RequiredArgsConstructor
+@Slf4j
+public class MigrationJob implements ApplicationRunner {
+    
+    private final ConfigurableApplicationContext context;
+    
+    @Override
+    public void run(ApplicationArguments args) {
+        log.info("Database migrated and schema validated, exiting");
+        System.exit(SpringApplication.exit(context));
+    }
+}
@@ -0,0 +1,98 @@
+package com.BankingSystem.Account.config;
+
+import com.BankingSystem.Account.dto.*;
+import com.BankingSystem.Account.entity.*;
+import com.BankingSystem.Account.service.WalletService;
+import liquibase.change.AddColumnConfig;
+import liquibase.change.ColumnConfig;
+import liquibase.change.ConstraintsConfig;
+import liquibase.change.core.*;
+import liquibase.precondition.core.PreconditionContainer;
+import liquibase.precondition.core.SqlPrecondition;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.retry.annotation.Retryable;
+
+import java.util.List;
+
+/**
+ * Reachability hints for the native image (mvn -Pnative native:compile) that Spring AOT does
+ * not derive from the bean definitions on its own. They only feed the AOT build; on the JVM
+ * this class does nothing.
+ */
+@Configuration(proxyBeanMethods = false)
+@ImportRuntimeHints(NativeHintsConfig.WalletRuntimeHints.class)
+public class NativeHintsConfig {
+    
+    static class WalletRuntimeHints implements RuntimeHintsRegistrar {
+        
+        // Lombok DTOs Jackson binds, including those outside controller signatures:
+        // error bodies, bulk import rows
+        static final List<Class<?>> DTOS = List.of(WalletOperationRequest.class, WalletResponse.class,
+            BatchOperationRequest.class, BatchOperationResponse.class, BatchItemResult.class,
+            TransferRequest.class, TransferResponse.class, BulkCreateWalletsRequest.class,
+            BulkCreateWalletsResponse.class, WalletHistoryPage.class, WalletHistoryEntry.class,
+            WalletImportRow.class, WalletImportResponse.class, ImportIssue.class, ErrorResponse.class);
+        
+        static final List<Class<?>> ENTITIES = List.of(Wallet.class, WalletTransaction.class,
+            WalletBalanceSnapshot.class, WalletOperation.class, IdempotencyRecord.class,
+            DepositJournalCheckpoint.class);
+        
+        // The change types, preconditions and nested elements db.changelog-master.xml uses
+        static final List<Class<?>> LIQUIBASE_CHANGES = List.of(CreateTableChange.class,
+            CreateIndexChange.class, AddColumnChange.class, UpdateDataChange.class,
+            AddNotNullConstraintChange.class, AddDefaultValueChange.class, DropColumnChange.class,
+            RawSQLChange.class, DropIndexChange.class, DropTableChange.class,
+            ColumnConfig.class, AddColumnConfig.class, ConstraintsConfig.class,
+            PreconditionContainer.class, SqlPrecondition.class);
+        
+        // Caffeine loads a generated cache and node class per feature set by name. Both caches
+        // (the balance cache's default spec, the idempotency cache) use maximumSize,
+        // expireAfterWrite and recordStats; another spring.cache.caffeine.spec needs its own pair
+        static final List<String> CAFFEINE_CLASSES = List.of("com.github.benmanes.caffeine.cache.SSSMSW",
+            "com.github.benmanes.caffeine.cache.PSWMS");
+        
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            // Constructors, accessors and @JsonProperty fields, the nested types included
+            new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                DTOS.toArray(Class<?>[]::new));
+            
+            // Hibernate instantiates entities and reads their fields reflectively; the
+            // Lombok accessors are ordinary methods, covered by the declared members
+            for (Class<?> entity : ENTITIES) {
+                hints.reflection().registerType(entity, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_DECLARED_METHODS, MemberCategory.DECLARED_FIELDS);
+            }
+            
+            // spring-retry finds @Retryable on the target methods and synthesizes the merged
+            // annotations (aliased attributes) as JDK proxies
+            hints.reflection().registerType(WalletService.class, MemberCategory.INTROSPECT_DECLARED_METHODS);
+            hints.proxies().registerJdkProxy(Retryable.class);
+            hints.proxies().registerJdkProxy(Backoff.class);
+            
+            // Liquibase creates changes by name and sets their attributes through bean
+            // properties, and validates the changelog against the XSD bundled in its jar
+            for (Class<?> change : LIQUIBASE_CHANGES) {
+                hints.reflection().registerType(change, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS,
+                    MemberCategory.INVOKE_PUBLIC_METHODS);
+            }
+            hints.resources().registerPattern("www.liquibase.org/xml/ns/dbchangelog/*.xsd");
+            
+            for (String caffeineClass : CAFFEINE_CLASSES) {
+                hints.reflection().registerType(TypeReference.of(caffeineClass),
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.DECLARED_FIELDS);
+            }
+            
+            // Created and configured by name from logback-spring.xml
+            hints.reflection().registerType(DebugDiscardingAsyncAppender.class,
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+    }
+}
@@ -1,9 +1,21 @@
 package com.BankingSystem.Account.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.retry.annotation.EnableRetry;
+import org.springframework.retry.support.MetricsRetryListener;
 
 @Configuration
 @EnableRetry
 public class RetryConfig {
-}
\ No newline at end of file
+    
+    /**
+     * Applied to every @Retryable method; publishes spring.retry tagged with the
+     * method label, retry.count and the final exception.
+     */
+    @Bean
+    public MetricsRetryListener metricsRetryListener(MeterRegistry meterRegistry) {
+        return new MetricsRetryListener(meterRegistry);
+    }
+}
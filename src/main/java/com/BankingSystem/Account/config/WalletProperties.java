@@ -0,0 +1,281 @@
+package com.BankingSystem.Account.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Tunables for the wallet processing paths, bound from the {@code wallet.*} properties
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "wallet")
+public class WalletProperties {
+    
+    /**
+     * How single operations update the wallet row
+     */
+    private WritePath writePath = WritePath.LOCKING_SELECT;
+    
+    /**
+     * How the single-wallet read and write paths reach the database
+     */
+    private Persistence persistence = Persistence.JPA;
+    
+    private Combining combining = new Combining();
+    
+    private Ledger ledger = new Ledger();
+    
+    private Idempotency idempotency = new Idempotency();
+    
+    private Batch batch = new Batch();
+    
+    private Bulkhead bulkhead = new Bulkhead();
+    
+    private LockStriping lockStriping = new LockStriping();
+    
+    private Sharding sharding = new Sharding();
+    
+    private Logging logging = new Logging();
+    
+    private WriteBehind writeBehind = new WriteBehind();
+    
+    /**
+     * Ledger deposits take no row lock, so there is nothing to combine in ledger mode
+     */
+    public boolean isCombiningActive() {
+        return combining.isEnabled() && !ledger.isEnabled();
+    }
+    
+    /**
+     * Shards group-commit through the row-update path, which the ledger does not use
+     */
+    public boolean isShardingActive() {
+        return sharding.isEnabled() && !ledger.isEnabled();
+    }
+    
+    /**
+     * Journaled deposits are applied as balance deltas, which the ledger does not store
+     */
+    public boolean isWriteBehindActive() {
+        return writeBehind.isEnabled() && !ledger.isEnabled();
+    }
+    
+    public enum WritePath {
+        /**
+         * SELECT ... FOR UPDATE, apply on the entity, save with a version check
+         */
+        LOCKING_SELECT,
+        /**
+         * One UPDATE ... WHERE balance + delta >= 0 RETURNING balance
+         */
+        CONDITIONAL_UPDATE
+    }
+    
+    public enum Persistence {
+        /**
+         * Spring Data repositories; wallets are managed entities
+         */
+        JPA,
+        /**
+         * Plain JDBC statements that bypass the persistence context
+         */
+        JDBC
+    }
+    
+    @Data
+    public static class Combining {
+        
+        /**
+         * Fold concurrent operations on the same wallet into one locking transaction
+         */
+        private boolean enabled = false;
+        
+        /**
+         * Upper bound of operations applied under a single row lock
+         */
+        private int maxBatchSize = 128;
+    }
+    
+    @Data
+    public static class Ledger {
+        
+        /**
+         * Record operations in the append-only ledger instead of updating the balance column
+         */
+        private boolean enabled = false;
+        
+        /**
+         * Pause between compaction runs
+         */
+        private Duration compactionInterval = Duration.ofSeconds(30);
+        
+        /**
+         * Minimum number of new entries before a wallet gets a fresh snapshot
+         */
+        private int compactionThreshold = 100;
+        
+        /**
+         * Wallets compacted per run
+         */
+        private int compactionBatchSize = 500;
+    }
+    
+    @Data
+    public static class Idempotency {
+        
+        /**
+         * Completed responses kept in memory in front of the idempotency_keys table
+         */
+        private long cacheSize = 10_000;
+        
+        /**
+         * How long a key is honoured before it may be purged
+         */
+        private Duration retention = Duration.ofHours(24);
+        
+        /**
+         * Pause between purges of expired keys
+         */
+        private Duration purgeInterval = Duration.ofHours(1);
+        
+        /**
+         * How long a key may stay reserved without a response before a retry may take it
+         * over; longer than any operation can take
+         */
+        private Duration pendingTimeout = Duration.ofMinutes(1);
+    }
+    
+    @Data
+    public static class Batch {
+        
+        /**
+         * Largest number of operations accepted by POST /api/v1/wallets/batch
+         */
+        private int maxSize = 10_000;
+        
+        /**
+         * Operations applied per transaction
+         */
+        private int chunkSize = 500;
+    }
+    
+    @Data
+    public static class Bulkhead {
+        
+        /**
+         * Limit concurrent WalletService calls; meant for the virtual-threads profile
+         */
+        private boolean enabled = false;
+        
+        /**
+         * Permits, normally equal to spring.datasource.hikari.maximum-pool-size
+         */
+        private int maxConcurrentCalls = 10;
+        
+        /**
+         * How long a caller may wait for a permit before getting a 503
+         */
+        private Duration maxWait = Duration.ofSeconds(2);
+    }
+    
+    @Data
+    public static class LockStriping {
+        
+        /**
+         * Serialize operations on the same wallet in memory before they borrow a connection
+         */
+        private boolean enabled = false;
+        
+        /**
+         * Number of locks wallet IDs are hashed onto; rounded up to a power of two
+         */
+        private int stripes = 1024;
+        
+        /**
+         * How long an operation may queue for its wallet's stripe before getting a 503
+         */
+        private Duration maxWait = Duration.ofSeconds(2);
+    }
+    
+    @Data
+    public static class Sharding {
+        
+        /**
+         * Route single operations to per-shard writer threads instead of locking per request
+         */
+        private boolean enabled = false;
+        
+        /**
+         * Number of single-threaded shards; 0 means one per available processor
+         */
+        private int shards = 0;
+        
+        /**
+         * Upper bound of queued operations a shard commits in one transaction
+         */
+        private int maxBatchSize = 128;
+        
+        /**
+         * Operations a shard may hold before new ones are rejected with a 503
+         */
+        private int queueCapacity = 10000;
+        
+        /**
+         * How long a request waits for its shard to take up the operation before it is
+         * withdrawn and answered with a 503; again as long for a commit already under way
+         */
+        private Duration awaitTimeout = Duration.ofSeconds(5);
+    }
+    
+    @Data
+    public static class Logging {
+        
+        /**
+         * How often the aggregated operation summary is logged at INFO
+         */
+        private Duration summaryInterval = Duration.ofMinutes(1);
+    }
+    
+    @Data
+    public static class WriteBehind {
+        
+        /**
+         * Acknowledge deposits once fsynced to a local journal and apply them to Postgres in the background
+         */
+        private boolean enabled = false;
+        
+        /**
+         * Directory holding the journal segments; must survive restarts
+         */
+        private String directory = "deposit-journal";
+        
+        /**
+         * Checkpoint key of this instance's journal; distinct per instance sharing a database
+         */
+        private String journalId = "default";
+        
+        /**
+         * Size of one memory-mapped segment file
+         */
+        private DataSize segmentSize = DataSize.ofMegabytes(64);
+        
+        /**
+         * How often the flusher applies durable deposits to Postgres
+         */
+        private Duration flushInterval = Duration.ofMillis(20);
+        
+        /**
+         * Upper bound of journal records applied in one transaction
+         */
+        private int maxBatchSize = 5000;
+        
+        /**
+         * How long a withdrawal waits for the wallet's pending deposits to be applied
+         */
+        private Duration applyWait = Duration.ofSeconds(2);
+    }
+}
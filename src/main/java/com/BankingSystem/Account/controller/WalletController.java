@@ -1,16 +1,42 @@
 package com.BankingSystem.Account.controller;
 
+import com.BankingSystem.Account.config.WalletProperties;
+import com.BankingSystem.Account.dto.BatchOperationRequest;
+import com.BankingSystem.Account.dto.BatchOperationResponse;
+import com.BankingSystem.Account.dto.BulkCreateWalletsRequest;
+import com.BankingSystem.Account.dto.BulkCreateWalletsResponse;
+import com.BankingSystem.Account.dto.TransferRequest;
+import com.BankingSystem.Account.dto.TransferResponse;
+import com.BankingSystem.Account.dto.WalletHistoryPage;
+import com.BankingSystem.Account.dto.WalletImportResponse;
 import com.BankingSystem.Account.dto.WalletOperationRequest;
 import com.BankingSystem.Account.dto.WalletResponse;
+import com.BankingSystem.Account.exception.ServiceBusyException;
+import com.BankingSystem.Account.service.IdempotencyService;
+import com.BankingSystem.Account.service.WalletBatchService;
+import com.BankingSystem.Account.service.WalletBulkService;
+import com.BankingSystem.Account.service.WalletDepositJournal;
+import com.BankingSystem.Account.service.WalletHistoryService;
+import com.BankingSystem.Account.service.WalletOperationCombiner;
 import com.BankingSystem.Account.service.WalletService;
+import com.BankingSystem.Account.service.WalletShardedEngine;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
+import java.time.OffsetDateTime;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @RestController
 @RequestMapping("/api/v1")
@@ -18,37 +44,128 @@ import java.util.UUID;
 @Slf4j
 public class WalletController {
     
+    private static final String NDJSON = "application/x-ndjson";
+    
     private final WalletService walletService;
+    private final WalletOperationCombiner walletOperationCombiner;
+    private final WalletShardedEngine walletShardedEngine;
+    private final WalletDepositJournal walletDepositJournal;
+    private final IdempotencyService idempotencyService;
+    private final WalletBatchService walletBatchService;
+    private final WalletBulkService walletBulkService;
+    private final WalletHistoryService walletHistoryService;
+    private final WalletProperties walletProperties;
+    private final AsyncTaskExecutor applicationTaskExecutor;
     
     /**
      * Process wallet operation (DEPOSIT or WITHDRAW)
      * POST /api/v1/wallet
+     * An optional Idempotency-Key header makes retries return the original response.
+     * Operations sent to a shard release the request thread until the shard commits.
      */
     @PostMapping("/wallet")
-    public ResponseEntity<WalletResponse> processOperation(
-            @Valid @RequestBody WalletOperationRequest request) {
+    public CompletableFuture<ResponseEntity<WalletResponse>> processOperation(
+            @Valid @RequestBody WalletOperationRequest request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
         
-        log.info("Processing {} operation for wallet {}", 
+        log.debug("Processing {} operation for wallet {}", 
             request.getOperationType(), request.getValletId());
         
-        WalletResponse response = walletService.processOperation(request);
+        if (walletProperties.isShardingActive() && !journaled(request)) {
+            CompletableFuture<WalletResponse> response = idempotencyKey == null
+                ? submitToShard(request)
+                : idempotencyService.executeAsync(idempotencyKey, request,
+                    () -> submitToShard(request), applicationTaskExecutor);
+            return response.thenApply(ResponseEntity::ok);
+        }
+        
+        WalletResponse response;
+        if (idempotencyKey == null) {
+            response = execute(request);
+        } else if (completesInTransaction(request)) {
+            response = idempotencyService.executeInTransaction(idempotencyKey, request,
+                () -> execute(request, idempotencyKey));
+        } else {
+            response = idempotencyService.execute(idempotencyKey, request, () -> execute(request));
+        }
+        return CompletableFuture.completedFuture(ResponseEntity.ok(response));
+    }
+    
+    /**
+     * Process many operations across wallets in a few transactions
+     * POST /api/v1/wallets/batch
+     */
+    @PostMapping("/wallets/batch")
+    public ResponseEntity<BatchOperationResponse> processBatch(
+            @Valid @RequestBody BatchOperationRequest request) {
+        
+        log.info("Processing batch of {} operations", request.getOperations().size());
+        
+        if (walletProperties.isWriteBehindActive()) {
+            request.getOperations().stream()
+                .filter(operation -> operation.getOperationType() == WalletOperationRequest.OperationType.WITHDRAW)
+                .map(WalletOperationRequest::getValletId)
+                .distinct()
+                .forEach(walletDepositJournal::awaitApplied);
+        }
+        
+        BatchOperationResponse response = walletBatchService.process(request.getOperations());
         return ResponseEntity.ok(response);
     }
     
     /**
-     * Get wallet balance
-     * GET /api/v1/wallets/{WALLET_UUID}
+     * Move funds from one wallet to another in a single transaction
+     * POST /api/v1/transfers
+     */
+    @PostMapping("/transfers")
+    public ResponseEntity<TransferResponse> transfer(
+            @Valid @RequestBody TransferRequest request) {
+        
+        log.debug("Transferring {} from wallet {} to wallet {}", 
+            request.getAmount(), request.getFromWalletId(), request.getToWalletId());
+        
+        if (walletProperties.isWriteBehindActive()) {
+            walletDepositJournal.awaitApplied(request.getFromWalletId());
+            walletDepositJournal.awaitApplied(request.getToWalletId());
+        }
+        
+        TransferResponse response = walletService.transfer(request);
+        return ResponseEntity.ok(response);
+    }
+    
+    /**
+     * Get wallet balance, optionally as it was at a past instant
+     * GET /api/v1/wallets/{WALLET_UUID}?asOf=2024-01-31T23:59:59Z
      */
     @GetMapping("/wallets/{walletId}")
     public ResponseEntity<WalletResponse> getWalletBalance(
-            @PathVariable UUID walletId) {
+            @PathVariable UUID walletId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime asOf) {
         
-        log.info("Getting balance for wallet {}", walletId);
+        log.debug("Getting balance for wallet {}", walletId);
         
-        WalletResponse response = walletService.getWalletBalance(walletId);
+        if (asOf != null) {
+            return ResponseEntity.ok(walletHistoryService.getBalanceAsOf(walletId, asOf));
+        }
+        WalletResponse response = walletProperties.isWriteBehindActive()
+            ? walletDepositJournal.getBalance(walletId)
+            : walletService.getWalletBalance(walletId);
         return ResponseEntity.ok(response);
     }
     
+    /**
+     * Operation history, newest first, keyset-paginated
+     * GET /api/v1/wallets/{WALLET_UUID}/transactions?limit=50&cursor=...
+     */
+    @GetMapping("/wallets/{walletId}/transactions")
+    public ResponseEntity<WalletHistoryPage> getTransactions(
+            @PathVariable UUID walletId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        
+        return ResponseEntity.ok(walletHistoryService.getHistory(walletId, cursor, limit));
+    }
+    
     /**
      * Create a new wallet (helper endpoint for testing)
      * POST /api/v1/wallets
@@ -60,4 +177,123 @@ public class WalletController {
         WalletResponse response = walletService.createWallet(walletId);
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
-}
\ No newline at end of file
+    
+    /**
+     * Create many wallets in one statement; IDs already taken are listed, not rejected
+     * POST /api/v1/wallets/bulk
+     */
+    @PostMapping("/wallets/bulk")
+    public ResponseEntity<BulkCreateWalletsResponse> createWallets(
+            @Valid @RequestBody BulkCreateWalletsRequest request) {
+        
+        BulkCreateWalletsResponse response = walletService.createWallets(request.getWalletIds());
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+    
+    /**
+     * Bulk-create wallets from newline-delimited JSON ({"walletId":..,"openingBalance":..} per line)
+     * POST /api/v1/wallets/import
+     */
+    @PostMapping(value = "/wallets/import", consumes = NDJSON)
+    public ResponseEntity<WalletImportResponse> importWalletsNdjson(InputStream body) {
+        return ResponseEntity.ok(walletBulkService.importWallets(body, WalletBulkService.Format.NDJSON));
+    }
+    
+    /**
+     * Bulk-create wallets from CSV (walletId,openingBalance per line, optional header)
+     * POST /api/v1/wallets/import
+     */
+    @PostMapping(value = "/wallets/import", consumes = "text/csv")
+    public ResponseEntity<WalletImportResponse> importWalletsCsv(InputStream body) {
+        return ResponseEntity.ok(walletBulkService.importWallets(body, WalletBulkService.Format.CSV));
+    }
+    
+    /**
+     * Stream all wallets with their balances
+     * GET /api/v1/wallets/export?format=ndjson|csv
+     */
+    @GetMapping("/wallets/export")
+    public ResponseEntity<StreamingResponseBody> exportWallets(
+            @RequestParam(defaultValue = "ndjson") String format) {
+        
+        WalletBulkService.Format exportFormat = WalletBulkService.Format.fromParameter(format);
+        MediaType contentType = exportFormat == WalletBulkService.Format.CSV
+            ? MediaType.parseMediaType("text/csv")
+            : MediaType.parseMediaType(NDJSON);
+        StreamingResponseBody body = out -> walletBulkService.exportWallets(exportFormat, out);
+        return ResponseEntity.ok().contentType(contentType).body(body);
+    }
+    
+    private WalletResponse execute(WalletOperationRequest request) {
+        return execute(request, null);
+    }
+    
+    /**
+     * Dispatch to the active blocking write path. The key, when given, is passed to the plain
+     * transactional path, which records its completion in the same transaction.
+     */
+    private WalletResponse execute(WalletOperationRequest request, String idempotencyKey) {
+        if (journaled(request)) {
+            return walletDepositJournal.deposit(request);
+        }
+        if (walletProperties.isWriteBehindActive()) {
+            // A withdrawal must see the deposits acknowledged before it
+            walletDepositJournal.awaitApplied(request.getValletId());
+        }
+        if (walletProperties.isCombiningActive()) {
+            return walletOperationCombiner.submit(request);
+        }
+        return idempotencyKey == null
+            ? walletService.processOperation(request)
+            : walletService.processOperation(request, idempotencyKey);
+    }
+    
+    /**
+     * Whether {@link #execute} ends in a single WalletService transaction rather than the
+     * deposit journal, a shard or the combiner
+     */
+    private boolean completesInTransaction(WalletOperationRequest request) {
+        return !journaled(request) && !walletProperties.isCombiningActive();
+    }
+    
+    /**
+     * Write-behind deposits go to the journal whatever other write path is active
+     */
+    private boolean journaled(WalletOperationRequest request) {
+        return walletProperties.isWriteBehindActive()
+            && request.getOperationType() == WalletOperationRequest.OperationType.DEPOSIT;
+    }
+    
+    private CompletableFuture<WalletResponse> submitToShard(WalletOperationRequest request) {
+        if (walletProperties.isWriteBehindActive()) {
+            walletDepositJournal.awaitApplied(request.getValletId());
+        }
+        return await(walletShardedEngine.submit(request));
+    }
+    
+    /**
+     * Bound the wait for the shard's result without holding a thread. An operation the shard
+     * has not taken up in time is withdrawn, so the 503 means it was not applied; one whose
+     * commit is under way cannot be, and a commit that still does not finish leaves the
+     * outcome unknown (500). The timeouts go on copies: completing the shard's own future
+     * would bypass its claim, which is what makes a successful cancel safe.
+     */
+    private CompletableFuture<WalletResponse> await(CompletableFuture<WalletResponse> future) {
+        long timeout = walletProperties.getSharding().getAwaitTimeout().toNanos();
+        return future.copy().orTimeout(timeout, TimeUnit.NANOSECONDS)
+            .exceptionallyCompose(error -> {
+                if (!(error instanceof TimeoutException)) {
+                    return CompletableFuture.failedFuture(error);
+                }
+                if (future.cancel(false)) {
+                    return CompletableFuture.failedFuture(
+                        new ServiceBusyException("Shard did not take up the operation in time, retry later"));
+                }
+                return future.copy().orTimeout(timeout, TimeUnit.NANOSECONDS)
+                    .exceptionallyCompose(commitError -> CompletableFuture.failedFuture(
+                        commitError instanceof TimeoutException
+                            ? new IllegalStateException("Shard commit did not finish in time", commitError)
+                            : commitError));
+            });
+    }
+}
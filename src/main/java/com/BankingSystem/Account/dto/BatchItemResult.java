@@ -0,0 +1,29 @@
+package com.BankingSystem.Account.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchItemResult {
+    
+    @JsonProperty("walletId")
+    private UUID walletId;
+    
+    @JsonProperty("status")
+    private int status;
+    
+    @JsonProperty("balance")
+    private BigDecimal balance;
+    
+    @JsonProperty("message")
+    private String message;
+}
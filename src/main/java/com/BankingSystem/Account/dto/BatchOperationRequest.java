@@ -0,0 +1,20 @@
+package com.BankingSystem.Account.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchOperationRequest {
+    
+    @NotEmpty(message = "At least one operation is required")
+    @JsonProperty("operations")
+    private List<@Valid WalletOperationRequest> operations;
+}
@@ -0,0 +1,24 @@
+package com.BankingSystem.Account.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchOperationResponse {
+    
+    @JsonProperty("succeeded")
+    private int succeeded;
+    
+    @JsonProperty("failed")
+    private int failed;
+    
+    // One entry per submitted operation, in request order
+    @JsonProperty("results")
+    private List<BatchItemResult> results;
+}
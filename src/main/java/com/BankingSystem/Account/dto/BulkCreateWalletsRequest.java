@@ -0,0 +1,24 @@
+package com.BankingSystem.Account.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkCreateWalletsRequest {
+    
+    // Sent as one array parameter; larger sets belong in /wallets/import
+    @NotEmpty(message = "At least one wallet ID is required")
+    @Size(max = 10000, message = "At most 10000 wallet IDs per request")
+    @JsonProperty("walletIds")
+    private List<@NotNull UUID> walletIds;
+}
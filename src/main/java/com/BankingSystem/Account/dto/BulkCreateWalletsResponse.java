@@ -0,0 +1,22 @@
+package com.BankingSystem.Account.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkCreateWalletsResponse {
+    
+    // In request order, repeated IDs listed once
+    @JsonProperty("created")
+    private List<UUID> created;
+    
+    @JsonProperty("existing")
+    private List<UUID> existing;
+}
@@ -0,0 +1,26 @@
+package com.BankingSystem.Account.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ImportIssue {
+    
+    // 1-based line of the uploaded body
+    @JsonProperty("line")
+    private long line;
+    
+    @JsonProperty("walletId")
+    private UUID walletId;
+    
+    @JsonProperty("message")
+    private String message;
+}
@@ -0,0 +1,54 @@
+package com.BankingSystem.Account.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Money as a {@code long} count of minor units (cents). Balances are stored and
+ * computed in this form; BigDecimal only appears where amounts enter or leave
+ * the API as JSON decimals.
+ */
+public final class MinorUnits {
+    
+    /** Decimal places of the major unit; matches the DECIMAL(19,2) API format */
+    public static final int SCALE = 2;
+    
+    private MinorUnits() {
+    }
+    
+    /**
+     * Convert a decimal amount to minor units, rejecting fractions of a cent
+     * and values outside the {@code long} range
+     */
+    public static long fromDecimal(BigDecimal amount) {
+        try {
+            return amount.movePointRight(SCALE).longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException(
+                "Amount must have at most " + SCALE + " decimal places and be within range: " + amount);
+        }
+    }
+    
+    /**
+     * Convert minor units back to a decimal with two decimal places
+     */
+    public static BigDecimal toDecimal(long minorUnits) {
+        // A fresh wallet has always reported a plain 0
+        return minorUnits == 0 ? BigDecimal.ZERO : BigDecimal.valueOf(minorUnits, SCALE);
+    }
+    
+    public static long add(long balance, long amount) {
+        try {
+            return Math.addExact(balance, amount);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Balance overflow");
+        }
+    }
+    
+    public static long subtract(long balance, long amount) {
+        try {
+            return Math.subtractExact(balance, amount);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Balance overflow");
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.BankingSystem.Account.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdScalarSerializer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+/**
+ * Money on the binary wire format: every BigDecimal in the DTOs is an amount or a balance,
+ * and travels as an integer count of minor units (1050 is 10.50) instead of decimal text.
+ * Registered on the CBOR mapper only; JSON keeps decimals.
+ */
+public class MinorUnitsModule extends SimpleModule {
+    
+    public MinorUnitsModule() {
+        super("MinorUnitsModule");
+        addSerializer(BigDecimal.class, new MinorUnitsSerializer());
+        addDeserializer(BigDecimal.class, new MinorUnitsDeserializer());
+    }
+    
+    static class MinorUnitsSerializer extends StdScalarSerializer<BigDecimal> {
+        
+        MinorUnitsSerializer() {
+            super(BigDecimal.class);
+        }
+        
+        @Override
+        public void serialize(BigDecimal value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            generator.writeNumber(MinorUnits.fromDecimal(value));
+        }
+    }
+    
+    static class MinorUnitsDeserializer extends StdScalarDeserializer<BigDecimal> {
+        
+        MinorUnitsDeserializer() {
+            super(BigDecimal.class);
+        }
+        
+        /**
+         * Only integers are accepted: a fraction of a minor unit has no meaning here
+         */
+        @Override
+        public BigDecimal deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            if (parser.currentToken() != JsonToken.VALUE_NUMBER_INT) {
+                return (BigDecimal) context.handleUnexpectedToken(BigDecimal.class, parser);
+            }
+            return BigDecimal.valueOf(parser.getLongValue(), MinorUnits.SCALE);
+        }
+    }
+}
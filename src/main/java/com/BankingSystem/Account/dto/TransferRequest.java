@@ -0,0 +1,30 @@
+package com.BankingSystem.Account.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransferRequest {
+    
+    @NotNull(message = "Source wallet ID is required")
+    @JsonProperty("fromWalletId")
+    private UUID fromWalletId;
+    
+    @NotNull(message = "Target wallet ID is required")
+    @JsonProperty("toWalletId")
+    private UUID toWalletId;
+    
+    @NotNull(message = "Amount is required")
+    @DecimalMin(value = "0.01", message = "Amount must be greater than 0")
+    @JsonProperty("amount")
+    private BigDecimal amount;
+}
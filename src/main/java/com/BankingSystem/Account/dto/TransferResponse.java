@@ -0,0 +1,18 @@
+package com.BankingSystem.Account.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransferResponse {
+    
+    @JsonProperty("from")
+    private WalletResponse from;
+    
+    @JsonProperty("to")
+    private WalletResponse to;
+}
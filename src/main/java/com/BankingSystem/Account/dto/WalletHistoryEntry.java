@@ -0,0 +1,31 @@
+package com.BankingSystem.Account.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class WalletHistoryEntry {
+    
+    @JsonProperty("id")
+    private long id;
+    
+    // Signed: deposits positive, withdrawals negative
+    @JsonProperty("amount")
+    private BigDecimal amount;
+    
+    // Balance right after this entry; not recorded per entry in ledger mode
+    @JsonProperty("balance")
+    private BigDecimal balance;
+    
+    @JsonProperty("createdAt")
+    private OffsetDateTime createdAt;
+}
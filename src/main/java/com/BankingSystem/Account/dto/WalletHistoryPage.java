@@ -0,0 +1,22 @@
+package com.BankingSystem.Account.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WalletHistoryPage {
+    
+    // Newest first
+    @JsonProperty("entries")
+    private List<WalletHistoryEntry> entries;
+    
+    // Pass back as ?cursor= for the next page; null on the last page
+    @JsonProperty("nextCursor")
+    private String nextCursor;
+}
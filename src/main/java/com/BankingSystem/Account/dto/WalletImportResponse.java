@@ -0,0 +1,32 @@
+package com.BankingSystem.Account.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WalletImportResponse {
+    
+    @JsonProperty("imported")
+    private long imported;
+    
+    // Already existing, or repeated earlier in the same upload
+    @JsonProperty("duplicates")
+    private long duplicates;
+    
+    // Lines that could not be parsed
+    @JsonProperty("rejected")
+    private long rejected;
+    
+    // The first duplicate and rejected lines, up to a fixed limit each
+    @JsonProperty("duplicateLines")
+    private List<ImportIssue> duplicateLines;
+    
+    @JsonProperty("rejectedLines")
+    private List<ImportIssue> rejectedLines;
+}
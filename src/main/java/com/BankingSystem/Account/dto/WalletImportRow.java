@@ -0,0 +1,27 @@
+package com.BankingSystem.Account.dto;
+
+import com.fasterxml.jackson.annotation.JsonAlias;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * One NDJSON line of a bulk wallet import
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WalletImportRow {
+    
+    @JsonProperty("walletId")
+    private UUID walletId;
+    
+    // "balance" is what the export writes, so an export can be imported as is
+    @JsonProperty("openingBalance")
+    @JsonAlias("balance")
+    private BigDecimal openingBalance;
+}
@@ -0,0 +1,37 @@
+package com.BankingSystem.Account.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * How far a local deposit journal has been applied to the wallets table.
+ * Written in the same transaction as the balances, so a restart replays exactly the rest.
+ */
+@Entity
+@Table(name = "deposit_journal_checkpoints")
+@Data
+@NoArgsConstructor
+public class DepositJournalCheckpoint {
+    
+    @Id
+    @Column(name = "journal_id", updatable = false, nullable = false)
+    private String journalId;
+    
+    /**
+     * Journal segment holding the next unapplied record
+     */
+    @Column(name = "generation", nullable = false)
+    private long generation;
+    
+    /**
+     * Byte offset of the next unapplied record within that segment
+     */
+    @Column(name = "position", nullable = false)
+    private long position;
+    
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
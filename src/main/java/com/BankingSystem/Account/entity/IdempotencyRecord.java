@@ -0,0 +1,37 @@
+package com.BankingSystem.Account.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Stored outcome of a request carrying an Idempotency-Key.
+ * A null balance means the original request is still being processed, or that it
+ * never finished; the fingerprint records what the key was first used for.
+ */
+@Entity
+@Table(name = "idempotency_keys")
+@Data
+@NoArgsConstructor
+public class IdempotencyRecord {
+    
+    @Id
+    @Column(name = "idempotency_key", updatable = false, nullable = false)
+    private String key;
+    
+    @Column(name = "wallet_id", updatable = false, nullable = false)
+    private UUID walletId;
+    
+    @Column(name = "request_fingerprint", updatable = false)
+    private String requestFingerprint;
+    
+    @Column(name = "balance", precision = 19, scale = 2)
+    private BigDecimal balance;
+    
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -1,5 +1,7 @@
 package com.BankingSystem.Account.entity;
 
+import com.BankingSystem.Account.dto.MinorUnits;
+import com.BankingSystem.Account.exception.InsufficientFundsException;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -22,8 +24,12 @@ public class Wallet {
     @Column(name = "id", updatable = false, nullable = false)
     private UUID id;
     
-    @Column(name = "balance", nullable = false, precision = 19, scale = 2)
-    private BigDecimal balance = BigDecimal.ZERO;
+    /**
+     * Balance in minor units (cents). The decimal {@code balance} column is
+     * generated from it by the database and is read-only.
+     */
+    @Column(name = "balance_minor", nullable = false)
+    private long balanceMinor;
     
     @Version
     @Column(name = "version", nullable = false)
@@ -39,23 +45,56 @@ public class Wallet {
     
     public Wallet(UUID id) {
         this.id = id;
-        this.balance = BigDecimal.ZERO;
+        this.balanceMinor = 0;
+    }
+    
+    public BigDecimal getBalance() {
+        return MinorUnits.toDecimal(balanceMinor);
+    }
+    
+    public void setBalance(BigDecimal balance) {
+        this.balanceMinor = MinorUnits.fromDecimal(balance);
     }
     
     public void deposit(BigDecimal amount) {
-        if (amount.compareTo(BigDecimal.ZERO) <= 0) {
+        if (amount.signum() <= 0) {
             throw new IllegalArgumentException("Deposit amount must be positive");
         }
-        this.balance = this.balance.add(amount);
+        depositMinor(MinorUnits.fromDecimal(amount));
     }
     
     public void withdraw(BigDecimal amount) {
-        if (amount.compareTo(BigDecimal.ZERO) <= 0) {
+        if (amount.signum() <= 0) {
+            throw new IllegalArgumentException("Withdrawal amount must be positive");
+        }
+        withdrawMinor(MinorUnits.fromDecimal(amount));
+    }
+    
+    public void depositMinor(long amount) {
+        if (amount <= 0) {
+            throw new IllegalArgumentException("Deposit amount must be positive");
+        }
+        this.balanceMinor = MinorUnits.add(this.balanceMinor, amount);
+    }
+    
+    public void withdrawMinor(long amount) {
+        if (!tryWithdrawMinor(amount)) {
+            throw new InsufficientFundsException();
+        }
+    }
+    
+    /**
+     * Withdraw if the balance covers it; an uncovered withdrawal is an expected outcome,
+     * reported as {@code false} rather than thrown
+     */
+    public boolean tryWithdrawMinor(long amount) {
+        if (amount <= 0) {
             throw new IllegalArgumentException("Withdrawal amount must be positive");
         }
-        if (this.balance.compareTo(amount) < 0) {
-            throw new IllegalArgumentException("Insufficient funds");
+        if (this.balanceMinor < amount) {
+            return false;
         }
-        this.balance = this.balance.subtract(amount);
+        this.balanceMinor = MinorUnits.subtract(this.balanceMinor, amount);
+        return true;
     }
 }
\ No newline at end of file
@@ -0,0 +1,45 @@
+package com.BankingSystem.Account.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Compacted balance of a wallet covering every ledger entry up to and including
+ * {@code lastTransactionId}
+ */
+@Entity
+@Table(name = "wallet_balance_snapshots")
+@Data
+@NoArgsConstructor
+public class WalletBalanceSnapshot {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", updatable = false, nullable = false)
+    private Long id;
+    
+    @Column(name = "wallet_id", updatable = false, nullable = false)
+    private UUID walletId;
+    
+    @Column(name = "last_transaction_id", updatable = false, nullable = false)
+    private Long lastTransactionId;
+    
+    @Column(name = "balance", updatable = false, nullable = false, precision = 19, scale = 2)
+    private BigDecimal balance;
+    
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    public WalletBalanceSnapshot(UUID walletId, Long lastTransactionId, BigDecimal balance) {
+        this.walletId = walletId;
+        this.lastTransactionId = lastTransactionId;
+        this.balance = balance;
+    }
+}
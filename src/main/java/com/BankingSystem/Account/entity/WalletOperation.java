@@ -0,0 +1,38 @@
+package com.BankingSystem.Account.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * One committed balance change of a wallet, written by a database trigger on
+ * {@code wallets}. The amount is signed; {@code balanceMinor} is the balance
+ * right after the change.
+ */
+@Entity
+@Immutable
+@Table(name = "wallet_operations")
+@Data
+@NoArgsConstructor
+public class WalletOperation {
+    
+    @Id
+    @Column(name = "id", updatable = false, nullable = false)
+    private Long id;
+    
+    @Column(name = "wallet_id", updatable = false, nullable = false)
+    private UUID walletId;
+    
+    @Column(name = "amount_minor", updatable = false, nullable = false)
+    private long amountMinor;
+    
+    @Column(name = "balance_minor", updatable = false, nullable = false)
+    private long balanceMinor;
+    
+    @Column(name = "created_at", updatable = false, nullable = false)
+    private OffsetDateTime createdAt;
+}
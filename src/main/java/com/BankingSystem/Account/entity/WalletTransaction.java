@@ -0,0 +1,47 @@
+package com.BankingSystem.Account.entity;
+
+import com.BankingSystem.Account.dto.WalletOperationRequest.OperationType;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Append-only ledger entry. The amount is signed: deposits are positive,
+ * withdrawals negative, so a balance is simply a sum over the entries.
+ */
+@Entity
+@Table(name = "wallet_transactions")
+@Data
+@NoArgsConstructor
+public class WalletTransaction {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", updatable = false, nullable = false)
+    private Long id;
+    
+    @Column(name = "wallet_id", updatable = false, nullable = false)
+    private UUID walletId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "operation_type", updatable = false, nullable = false, length = 20)
+    private OperationType operationType;
+    
+    @Column(name = "amount", updatable = false, nullable = false, precision = 19, scale = 2)
+    private BigDecimal amount;
+    
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    public WalletTransaction(UUID walletId, OperationType operationType, BigDecimal amount) {
+        this.walletId = walletId;
+        this.operationType = operationType;
+        this.amount = operationType == OperationType.WITHDRAW ? amount.negate() : amount;
+    }
+}
@@ -0,0 +1,13 @@
+package com.BankingSystem.Account.exception;
+
+/**
+ * Expected outcome of a wallet operation (not found, insufficient funds, overload, ...).
+ * These are a routine part of the traffic and carry nothing a stack trace would explain,
+ * so none is captured and suppression is off: creating one costs an allocation.
+ */
+public abstract class BusinessException extends RuntimeException {
+    
+    protected BusinessException(String message) {
+        super(message, null, false, false);
+    }
+}
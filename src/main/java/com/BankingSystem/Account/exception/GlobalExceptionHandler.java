@@ -3,7 +3,9 @@ package com.BankingSystem.Account.exception;
 import com.BankingSystem.Account.dto.ErrorResponse;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.validation.FieldError;
@@ -14,52 +16,107 @@ import org.springframework.web.method.annotation.MethodArgumentTypeMismatchExcep
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
 
 @RestControllerAdvice
 @Slf4j
 public class GlobalExceptionHandler {
     
+    // Error bodies are JSON whatever the request negotiated (see schema/wallet.cddl), so CBOR
+    // clients get readable errors and the ErrorResponse DTO needs no binary encoding.
+    // Not found, insufficient funds and overload are routine outcomes: their bodies are
+    // written from prepared bytes and they are logged at debug only
+    private static final PreparedErrorBody NOT_FOUND = new PreparedErrorBody(HttpStatus.NOT_FOUND, "Not Found");
+    private static final PreparedErrorBody BAD_REQUEST = new PreparedErrorBody(HttpStatus.BAD_REQUEST, "Bad Request");
+    private static final PreparedErrorBody SERVICE_UNAVAILABLE =
+        new PreparedErrorBody(HttpStatus.SERVICE_UNAVAILABLE, "Service Unavailable");
+    private static final byte[] INSUFFICIENT_FUNDS_MESSAGE = PreparedErrorBody.message(InsufficientFundsException.MESSAGE);
+    
     /**
      * Handle wallet not found
      */
     @ExceptionHandler(WalletNotFoundException.class)
-    public ResponseEntity<ErrorResponse> handleWalletNotFound(
+    public ResponseEntity<byte[]> handleWalletNotFound(
             WalletNotFoundException ex, 
             HttpServletRequest request) {
         
-        log.warn("Wallet not found: {}", ex.getMessage());
+        log.debug("Wallet not found: {}", ex.getMessage());
+        
+        return NOT_FOUND.response(ex.getMessage(), request.getRequestURI());
+    }
+    
+    /**
+     * Handle creating a wallet whose ID is taken
+     */
+    @ExceptionHandler(WalletAlreadyExistsException.class)
+    public ResponseEntity<ErrorResponse> handleWalletAlreadyExists(
+            WalletAlreadyExistsException ex,
+            HttpServletRequest request) {
+        
+        log.warn("Wallet already exists: {}", ex.getMessage());
         
         ErrorResponse error = new ErrorResponse(
             LocalDateTime.now(),
-            HttpStatus.NOT_FOUND.value(),
-            "Not Found",
+            HttpStatus.CONFLICT.value(),
+            "Conflict",
             ex.getMessage(),
             request.getRequestURI()
         );
         
-        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+        return ResponseEntity.status(HttpStatus.CONFLICT).contentType(MediaType.APPLICATION_JSON).body(error);
     }
     
     /**
      * Handle insufficient funds
      */
     @ExceptionHandler(InsufficientFundsException.class)
-    public ResponseEntity<ErrorResponse> handleInsufficientFunds(
+    public ResponseEntity<byte[]> handleInsufficientFunds(
             InsufficientFundsException ex, 
             HttpServletRequest request) {
         
-        log.warn("Insufficient funds: {}", ex.getMessage());
+        log.debug("Insufficient funds: {}", ex.getMessage());
+        
+        byte[] message = InsufficientFundsException.MESSAGE.equals(ex.getMessage())
+            ? INSUFFICIENT_FUNDS_MESSAGE
+            : PreparedErrorBody.message(ex.getMessage());
+        return BAD_REQUEST.response(message, request.getRequestURI());
+    }
+    
+    /**
+     * Handle Idempotency-Key reuse or a duplicate still in flight
+     */
+    @ExceptionHandler(IdempotencyConflictException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotencyConflict(
+            IdempotencyConflictException ex, 
+            HttpServletRequest request) {
+        
+        log.warn("Idempotency conflict: {}", ex.getMessage());
         
         ErrorResponse error = new ErrorResponse(
             LocalDateTime.now(),
-            HttpStatus.BAD_REQUEST.value(),
-            "Bad Request",
+            HttpStatus.CONFLICT.value(),
+            "Conflict",
             ex.getMessage(),
             request.getRequestURI()
         );
         
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        return ResponseEntity.status(HttpStatus.CONFLICT).contentType(MediaType.APPLICATION_JSON).body(error);
+    }
+    
+    /**
+     * Handle overload: the caller should back off and retry
+     */
+    @ExceptionHandler(ServiceBusyException.class)
+    public ResponseEntity<byte[]> handleServiceBusy(
+            ServiceBusyException ex, 
+            HttpServletRequest request) {
+        
+        log.debug("Service busy: {}", ex.getMessage());
+        
+        return SERVICE_UNAVAILABLE.builder()
+            .header(HttpHeaders.RETRY_AFTER, "1")
+            .body(SERVICE_UNAVAILABLE.render(PreparedErrorBody.message(ex.getMessage()), request.getRequestURI()));
     }
     
     /**
@@ -87,7 +144,7 @@ public class GlobalExceptionHandler {
             errors
         );
         
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).contentType(MediaType.APPLICATION_JSON).body(error);
     }
     
     /**
@@ -108,7 +165,7 @@ public class GlobalExceptionHandler {
             request.getRequestURI()
         );
         
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).contentType(MediaType.APPLICATION_JSON).body(error);
     }
     
     /**
@@ -132,7 +189,7 @@ public class GlobalExceptionHandler {
             request.getRequestURI()
         );
         
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).contentType(MediaType.APPLICATION_JSON).body(error);
     }
     
     /**
@@ -153,7 +210,34 @@ public class GlobalExceptionHandler {
             request.getRequestURI()
         );
         
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).contentType(MediaType.APPLICATION_JSON).body(error);
+    }
+    
+    /**
+     * Handle a failure surfacing from an asynchronous write path (the shards) by its cause
+     */
+    @ExceptionHandler(CompletionException.class)
+    public ResponseEntity<?> handleCompletion(
+            CompletionException ex, 
+            HttpServletRequest request) {
+        
+        Throwable cause = ex.getCause();
+        if (cause instanceof WalletNotFoundException notFound) {
+            return handleWalletNotFound(notFound, request);
+        }
+        if (cause instanceof InsufficientFundsException insufficientFunds) {
+            return handleInsufficientFunds(insufficientFunds, request);
+        }
+        if (cause instanceof ServiceBusyException serviceBusy) {
+            return handleServiceBusy(serviceBusy, request);
+        }
+        if (cause instanceof IdempotencyConflictException conflict) {
+            return handleIdempotencyConflict(conflict, request);
+        }
+        if (cause instanceof IllegalArgumentException illegalArgument) {
+            return handleIllegalArgument(illegalArgument, request);
+        }
+        return handleGenericException(cause instanceof Exception exception ? exception : ex, request);
     }
     
     /**
@@ -174,6 +258,6 @@ public class GlobalExceptionHandler {
             request.getRequestURI()
         );
         
-        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).contentType(MediaType.APPLICATION_JSON).body(error);
     }
 }
\ No newline at end of file
@@ -0,0 +1,8 @@
+package com.BankingSystem.Account.exception;
+
+public class IdempotencyConflictException extends BusinessException {
+    
+    public IdempotencyConflictException(String message) {
+        super(message);
+    }
+}
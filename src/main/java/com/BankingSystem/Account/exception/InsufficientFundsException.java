@@ -1,8 +1,14 @@
 package com.BankingSystem.Account.exception;
 
-public class InsufficientFundsException extends RuntimeException {
+public class InsufficientFundsException extends BusinessException {
+    
+    public static final String MESSAGE = "Insufficient funds";
+    
+    public InsufficientFundsException() {
+        super(MESSAGE);
+    }
     
     public InsufficientFundsException(String message) {
         super(message);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,96 @@
+package com.BankingSystem.Account.exception;
+
+import com.BankingSystem.Account.dto.ErrorResponse;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * {@link ErrorResponse} JSON for one status, serialized once up to the per-request parts.
+ * Rendering copies the prepared fragments and the escaped message and path into one exact-size
+ * array, skipping the ErrorResponse and the Jackson round trip. The timestamp is formatted at
+ * most once per millisecond and shared by every error rendered within it.
+ */
+final class PreparedErrorBody {
+    
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+    private static final JsonStringEncoder ENCODER = JsonStringEncoder.getInstance();
+    private static final byte[] TIMESTAMP_PREFIX = utf8("{\"timestamp\":\"");
+    private static final byte[] PATH_PREFIX = utf8("\",\"path\":\"");
+    private static final byte[] SUFFIX = utf8("\",\"errors\":null}");
+    
+    private static volatile Timestamp timestamp = new Timestamp(0, new byte[0]);
+    
+    private final HttpStatus status;
+    private final byte[] messagePrefix;
+    
+    PreparedErrorBody(HttpStatus status, String error) {
+        this.status = status;
+        this.messagePrefix = utf8("\",\"status\":" + status.value()
+            + ",\"error\":\"" + new String(ENCODER.quoteAsString(error)) + "\",\"message\":\"");
+    }
+    
+    /**
+     * Message that is the same for every response, escaped once up front
+     */
+    static byte[] message(String message) {
+        return ENCODER.quoteAsUTF8(message);
+    }
+    
+    ResponseEntity<byte[]> response(String message, String path) {
+        return response(message(message), path);
+    }
+    
+    ResponseEntity<byte[]> response(byte[] message, String path) {
+        return builder().body(render(message, path));
+    }
+    
+    ResponseEntity.BodyBuilder builder() {
+        return ResponseEntity.status(status).contentType(MediaType.APPLICATION_JSON);
+    }
+    
+    byte[] render(byte[] message, String path) {
+        byte[] time = currentTimestamp();
+        byte[] escapedPath = ENCODER.quoteAsUTF8(path);
+        byte[] body = new byte[TIMESTAMP_PREFIX.length + time.length + messagePrefix.length
+            + message.length + PATH_PREFIX.length + escapedPath.length + SUFFIX.length];
+        int position = 0;
+        position = append(body, position, TIMESTAMP_PREFIX);
+        position = append(body, position, time);
+        position = append(body, position, messagePrefix);
+        position = append(body, position, message);
+        position = append(body, position, PATH_PREFIX);
+        position = append(body, position, escapedPath);
+        append(body, position, SUFFIX);
+        return body;
+    }
+    
+    private static byte[] currentTimestamp() {
+        long millis = System.currentTimeMillis();
+        Timestamp current = timestamp;
+        if (current.millis() != millis) {
+            LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+            current = new Timestamp(millis, utf8(TIMESTAMP_FORMAT.format(now)));
+            timestamp = current;
+        }
+        return current.formatted();
+    }
+    
+    private static int append(byte[] target, int position, byte[] fragment) {
+        System.arraycopy(fragment, 0, target, position, fragment.length);
+        return position + fragment.length;
+    }
+    
+    private static byte[] utf8(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+    
+    private record Timestamp(long millis, byte[] formatted) {
+    }
+}
@@ -0,0 +1,8 @@
+package com.BankingSystem.Account.exception;
+
+public class ServiceBusyException extends BusinessException {
+    
+    public ServiceBusyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,10 @@
+package com.BankingSystem.Account.exception;
+
+import java.util.UUID;
+
+public class WalletAlreadyExistsException extends BusinessException {
+    
+    public WalletAlreadyExistsException(UUID walletId) {
+        super("Wallet already exists with ID: " + walletId);
+    }
+}
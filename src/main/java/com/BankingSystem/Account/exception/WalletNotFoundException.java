@@ -2,7 +2,7 @@ package com.BankingSystem.Account.exception;
 
 import java.util.UUID;
 
-public class WalletNotFoundException extends RuntimeException {
+public class WalletNotFoundException extends BusinessException {
     
     public WalletNotFoundException(UUID walletId) {
         super("Wallet not found with ID: " + walletId);
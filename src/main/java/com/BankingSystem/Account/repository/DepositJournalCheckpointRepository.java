@@ -0,0 +1,25 @@
+package com.BankingSystem.Account.repository;
+
+import com.BankingSystem.Account.entity.DepositJournalCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface DepositJournalCheckpointRepository extends JpaRepository<DepositJournalCheckpoint, String> {
+    
+    @Transactional
+    @Modifying
+    @Query(value = """
+        INSERT INTO deposit_journal_checkpoints (journal_id, generation, position, updated_at)
+        VALUES (:journalId, :generation, :position, CURRENT_TIMESTAMP)
+        ON CONFLICT (journal_id) DO UPDATE
+        SET generation = EXCLUDED.generation, position = EXCLUDED.position, updated_at = EXCLUDED.updated_at
+        """, nativeQuery = true)
+    int advance(@Param("journalId") String journalId,
+                @Param("generation") long generation,
+                @Param("position") long position);
+}
@@ -0,0 +1,73 @@
+package com.BankingSystem.Account.repository;
+
+import com.BankingSystem.Account.entity.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+    
+    /**
+     * Claim a key; returns 0 when another request already holds it
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+        INSERT INTO idempotency_keys (idempotency_key, wallet_id, request_fingerprint, created_at)
+        VALUES (:key, :walletId, :fingerprint, CURRENT_TIMESTAMP)
+        ON CONFLICT (idempotency_key) DO NOTHING
+        """, nativeQuery = true)
+    int reserve(@Param("key") String key, @Param("walletId") UUID walletId, @Param("fingerprint") String fingerprint);
+    
+    /**
+     * Hand a reservation that has been pending longer than the timeout to a new attempt;
+     * returns 0 when it completed meanwhile or another attempt took it first
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+        UPDATE idempotency_keys SET created_at = CURRENT_TIMESTAMP
+        WHERE idempotency_key = :key AND balance IS NULL
+          AND created_at < CURRENT_TIMESTAMP - make_interval(secs => :timeoutSeconds)
+        """, nativeQuery = true)
+    int takeOver(@Param("key") String key, @Param("timeoutSeconds") long timeoutSeconds);
+    
+    /**
+     * Lock the key for an operation that records its completion in its own transaction.
+     * Empty unless an earlier attempt has already completed it.
+     */
+    @Query(value = "SELECT balance FROM idempotency_keys WHERE idempotency_key = :key FOR UPDATE", nativeQuery = true)
+    Optional<BigDecimal> lockCompletedBalance(@Param("key") String key);
+    
+    @Transactional
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.balance = :balance WHERE r.key = :key AND r.balance IS NULL")
+    int complete(@Param("key") String key, @Param("balance") BigDecimal balance);
+    
+    /**
+     * Release a reservation whose operation applied nothing; a completed key is kept
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.key = :key AND r.balance IS NULL")
+    int deletePending(@Param("key") String key);
+    
+    /**
+     * The cutoff is computed by the database so it shares the clock that stamped created_at
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+        DELETE FROM idempotency_keys
+        WHERE created_at < CURRENT_TIMESTAMP - make_interval(secs => :retentionSeconds)
+        """, nativeQuery = true)
+    int deleteOlderThan(@Param("retentionSeconds") long retentionSeconds);
+}
@@ -0,0 +1,9 @@
+package com.BankingSystem.Account.repository;
+
+import com.BankingSystem.Account.entity.WalletBalanceSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface WalletBalanceSnapshotRepository extends JpaRepository<WalletBalanceSnapshot, Long> {
+}
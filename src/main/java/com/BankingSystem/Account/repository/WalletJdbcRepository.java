@@ -0,0 +1,57 @@
+package com.BankingSystem.Account.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Plain-JDBC versions of the hot single-wallet statements. No entity is loaded, so
+ * there is no persistence context, proxy, dirty check or flush; each call is one
+ * statement on the transaction's connection.
+ */
+@Repository
+@RequiredArgsConstructor
+public class WalletJdbcRepository {
+    
+    private static final ResultSetExtractor<Optional<Long>> SINGLE_LONG =
+        rs -> rs.next() ? Optional.of(rs.getLong(1)) : Optional.empty();
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    public Optional<Long> findBalance(UUID id) {
+        return jdbcTemplate.query("SELECT balance_minor FROM wallets WHERE id = ?", SINGLE_LONG, id);
+    }
+    
+    /**
+     * Row-lock the wallet and read its balance, like WalletRepository.findByIdWithLock
+     */
+    public Optional<Long> lockBalance(UUID id) {
+        return jdbcTemplate.query("SELECT balance_minor FROM wallets WHERE id = ? FOR UPDATE", SINGLE_LONG, id);
+    }
+    
+    /**
+     * Store a balance computed under lockBalance. The version is still bumped so
+     * JPA paths holding the entity detect the change.
+     */
+    public void updateBalance(UUID id, long balance) {
+        jdbcTemplate.update(
+            "UPDATE wallets SET balance_minor = ?, version = version + 1, updated_at = CURRENT_TIMESTAMP WHERE id = ?",
+            balance, id);
+    }
+    
+    /**
+     * Same statement as WalletRepository.applyDelta
+     */
+    public Optional<Long> applyDelta(UUID id, long delta) {
+        return jdbcTemplate.query("""
+            UPDATE wallets
+            SET balance_minor = balance_minor + ?, version = version + 1, updated_at = CURRENT_TIMESTAMP
+            WHERE id = ? AND balance_minor + ? >= 0
+            RETURNING balance_minor
+            """, SINGLE_LONG, delta, id, delta);
+    }
+}
@@ -0,0 +1,55 @@
+package com.BankingSystem.Account.repository;
+
+import com.BankingSystem.Account.entity.WalletOperation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface WalletOperationRepository extends JpaRepository<WalletOperation, Long> {
+    
+    /**
+     * Last change at or before {@code asOf}; its balance is the balance at that instant.
+     * Empty if the wallet did not exist yet.
+     */
+    @Query(value = """
+        SELECT * FROM wallet_operations
+        WHERE wallet_id = :walletId AND created_at <= :asOf
+        ORDER BY created_at DESC, id DESC
+        LIMIT 1
+        """, nativeQuery = true)
+    Optional<WalletOperation> findLatestAsOf(@Param("walletId") UUID walletId, @Param("asOf") OffsetDateTime asOf);
+    
+    /**
+     * When recording began; nothing is known about balances before it
+     */
+    @Query(value = "SELECT started_at FROM wallet_history_start", nativeQuery = true)
+    Optional<Instant> findHistoryStart();
+    
+    @Query(value = """
+        SELECT * FROM wallet_operations
+        WHERE wallet_id = :walletId
+        ORDER BY created_at DESC, id DESC
+        LIMIT :limit
+        """, nativeQuery = true)
+    List<WalletOperation> findFirstPage(@Param("walletId") UUID walletId, @Param("limit") int limit);
+    
+    /**
+     * Keyset page: the entries strictly older than the (createdAt, id) of the previous page's last entry
+     */
+    @Query(value = """
+        SELECT * FROM wallet_operations
+        WHERE wallet_id = :walletId AND (created_at, id) < (:createdAt, :id)
+        ORDER BY created_at DESC, id DESC
+        LIMIT :limit
+        """, nativeQuery = true)
+    List<WalletOperation> findPageBefore(@Param("walletId") UUID walletId, @Param("createdAt") OffsetDateTime createdAt,
+                                         @Param("id") long id, @Param("limit") int limit);
+}
@@ -8,6 +8,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -17,4 +19,69 @@ public interface WalletRepository extends JpaRepository<Wallet, UUID> {
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT w FROM Wallet w WHERE w.id = :id")
     Optional<Wallet> findByIdWithLock(@Param("id") UUID id);
+    
+    /**
+     * Lock several wallets in one statement. Rows are locked in primary-key order,
+     * so two batches touching overlapping wallets can never deadlock each other.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT w FROM Wallet w WHERE w.id IN :ids ORDER BY w.id")
+    List<Wallet> findAllByIdWithLock(@Param("ids") Collection<UUID> ids);
+    
+    /**
+     * Apply a balance change (in minor units) in one statement. The row lock is held
+     * only for the duration of this UPDATE; an empty result means the wallet is
+     * missing or the change would overdraw it.
+     */
+    @Query(value = """
+        UPDATE wallets
+        SET balance_minor = balance_minor + :delta, version = version + 1, updated_at = CURRENT_TIMESTAMP
+        WHERE id = :id AND balance_minor + :delta >= 0
+        RETURNING balance_minor
+        """, nativeQuery = true)
+    Optional<Long> applyDelta(@Param("id") UUID id, @Param("delta") long delta);
+    
+    /**
+     * Create a wallet in one statement. Empty when the ID is already taken,
+     * including by a concurrent insert.
+     */
+    @Query(value = """
+        INSERT INTO wallets (id) VALUES (:id)
+        ON CONFLICT (id) DO NOTHING
+        RETURNING balance_minor
+        """, nativeQuery = true)
+    Optional<Long> insertIfAbsent(@Param("id") UUID id);
+    
+    /**
+     * Create many wallets in one statement; returns the IDs that were actually inserted
+     */
+    @Query(value = """
+        INSERT INTO wallets (id) SELECT DISTINCT unnest(:ids)
+        ON CONFLICT (id) DO NOTHING
+        RETURNING id
+        """, nativeQuery = true)
+    List<UUID> insertAllIfAbsent(@Param("ids") UUID[] ids);
+    
+    /**
+     * Serializes ledger withdrawals. NO KEY UPDATE does not conflict with the
+     * KEY SHARE lock that ledger deposits take, so deposits keep flowing while
+     * a withdrawal holds it.
+     */
+    @Query(value = "SELECT w.id FROM wallets w WHERE w.id = :id FOR NO KEY UPDATE", nativeQuery = true)
+    Optional<UUID> lockForLedgerWithdrawal(@Param("id") UUID id);
+    
+    /**
+     * Taken by ledger deposits before their insert. The foreign key takes the same lock,
+     * but only after the entry has drawn its id, so a compaction could otherwise snapshot
+     * past a lower id that is still to commit.
+     */
+    @Query(value = "SELECT w.id FROM wallets w WHERE w.id = :id FOR KEY SHARE", nativeQuery = true)
+    Optional<UUID> lockForLedgerDeposit(@Param("id") UUID id);
+    
+    /**
+     * Exclusive lock used by ledger compaction: waits for in-flight ledger entries
+     * on this wallet to commit and holds new ones back until the snapshot is written
+     */
+    @Query(value = "SELECT w.id FROM wallets w WHERE w.id = :id FOR UPDATE", nativeQuery = true)
+    Optional<UUID> lockForCompaction(@Param("id") UUID id);
 }
\ No newline at end of file
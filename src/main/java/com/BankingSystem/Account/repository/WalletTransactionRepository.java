@@ -0,0 +1,92 @@
+package com.BankingSystem.Account.repository;
+
+import com.BankingSystem.Account.entity.WalletTransaction;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface WalletTransactionRepository extends JpaRepository<WalletTransaction, Long> {
+    
+    /**
+     * Balance = latest snapshot (or the opening balance on the wallet row)
+     * plus every ledger entry written after that snapshot
+     */
+    @Query(value = """
+        SELECT COALESCE(s.balance, w.balance) + COALESCE((
+                   SELECT SUM(t.amount) FROM wallet_transactions t
+                   WHERE t.wallet_id = w.id AND t.id > COALESCE(s.last_transaction_id, 0)), 0)
+        FROM wallets w
+        LEFT JOIN LATERAL (
+            SELECT b.balance, b.last_transaction_id FROM wallet_balance_snapshots b
+            WHERE b.wallet_id = w.id
+            ORDER BY b.last_transaction_id DESC
+            LIMIT 1) s ON TRUE
+        WHERE w.id = :walletId
+        """, nativeQuery = true)
+    Optional<BigDecimal> findDerivedBalance(@Param("walletId") UUID walletId);
+    
+    /**
+     * Balance at {@code asOf}: the latest snapshot taken by then plus the entries
+     * after it that were written by then
+     */
+    @Query(value = """
+        SELECT COALESCE(s.balance, w.balance) + COALESCE((
+                   SELECT SUM(t.amount) FROM wallet_transactions t
+                   WHERE t.wallet_id = w.id AND t.id > COALESCE(s.last_transaction_id, 0)
+                     AND t.created_at <= :asOf), 0)
+        FROM wallets w
+        LEFT JOIN LATERAL (
+            SELECT b.balance, b.last_transaction_id FROM wallet_balance_snapshots b
+            WHERE b.wallet_id = w.id AND b.created_at <= :asOf
+            ORDER BY b.last_transaction_id DESC
+            LIMIT 1) s ON TRUE
+        WHERE w.id = :walletId
+        """, nativeQuery = true)
+    Optional<BigDecimal> findDerivedBalanceAsOf(@Param("walletId") UUID walletId, @Param("asOf") LocalDateTime asOf);
+    
+    @Query(value = """
+        SELECT * FROM wallet_transactions
+        WHERE wallet_id = :walletId
+        ORDER BY created_at DESC, id DESC
+        LIMIT :limit
+        """, nativeQuery = true)
+    List<WalletTransaction> findFirstPage(@Param("walletId") UUID walletId, @Param("limit") int limit);
+    
+    /**
+     * Keyset page: the entries strictly older than the (createdAt, id) of the previous page's last entry
+     */
+    @Query(value = """
+        SELECT * FROM wallet_transactions
+        WHERE wallet_id = :walletId AND (created_at, id) < (:createdAt, :id)
+        ORDER BY created_at DESC, id DESC
+        LIMIT :limit
+        """, nativeQuery = true)
+    List<WalletTransaction> findPageBefore(@Param("walletId") UUID walletId, @Param("createdAt") LocalDateTime createdAt,
+                                           @Param("id") long id, @Param("limit") int limit);
+    
+    @Query(value = "SELECT MAX(t.id) FROM wallet_transactions t WHERE t.wallet_id = :walletId",
+        nativeQuery = true)
+    Optional<Long> findLastTransactionId(@Param("walletId") UUID walletId);
+    
+    /**
+     * Wallets that accumulated at least {@code threshold} entries since their latest snapshot
+     */
+    @Query(value = """
+        SELECT t.wallet_id FROM wallet_transactions t
+        WHERE t.id > COALESCE((
+            SELECT MAX(b.last_transaction_id) FROM wallet_balance_snapshots b
+            WHERE b.wallet_id = t.wallet_id), 0)
+        GROUP BY t.wallet_id
+        HAVING COUNT(*) >= :threshold
+        LIMIT :limit
+        """, nativeQuery = true)
+    List<UUID> findWalletsToCompact(@Param("threshold") int threshold, @Param("limit") int limit);
+}
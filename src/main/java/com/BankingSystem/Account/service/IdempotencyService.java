@@ -0,0 +1,255 @@
+package com.BankingSystem.Account.service;
+
+import com.BankingSystem.Account.config.WalletProperties;
+import com.BankingSystem.Account.dto.MinorUnits;
+import com.BankingSystem.Account.dto.WalletOperationRequest;
+import com.BankingSystem.Account.dto.WalletResponse;
+import com.BankingSystem.Account.entity.IdempotencyRecord;
+import com.BankingSystem.Account.exception.BusinessException;
+import com.BankingSystem.Account.exception.IdempotencyConflictException;
+import com.BankingSystem.Account.repository.IdempotencyRecordRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Deduplicates retried wallet operations by Idempotency-Key.
+ *
+ * Completed responses live in the {@code idempotency_keys} table with a size-bounded
+ * Caffeine (W-TinyLFU) cache in front, so a replay is answered from memory or a single
+ * primary-key read and never reaches the wallet lock. A key is reserved with an
+ * insert-on-conflict before the operation runs, which makes concurrent duplicates
+ * lose the race instead of applying twice.
+ *
+ * Where the operation is a single transaction it records its completion itself, in that
+ * transaction ({@link #executeInTransaction}). The other write paths (combining, shards,
+ * the deposit journal) record it once they return, or for the shards once their future
+ * completes ({@link #executeAsync}). Either way a reservation left pending
+ * by a crash is handed to a retry once it is older than the pending timeout.
+ */
+@Service
+@Slf4j
+public class IdempotencyService {
+    
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final WalletProperties walletProperties;
+    private final Cache<String, Completed> responses;
+    private final Timer cacheHitTimer;
+    private final Timer storeHitTimer;
+    private final Timer missTimer;
+    
+    public IdempotencyService(IdempotencyRecordRepository idempotencyRecordRepository,
+                              WalletProperties walletProperties,
+                              MeterRegistry meterRegistry) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.walletProperties = walletProperties;
+        this.responses = Caffeine.newBuilder()
+            .maximumSize(walletProperties.getIdempotency().getCacheSize())
+            .expireAfterWrite(walletProperties.getIdempotency().getRetention())
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, responses, "idempotency");
+        this.cacheHitTimer = dedupeTimer(meterRegistry, "cache_hit");
+        this.storeHitTimer = dedupeTimer(meterRegistry, "store_hit");
+        this.missTimer = dedupeTimer(meterRegistry, "miss");
+    }
+    
+    /**
+     * Run the operation once per key; replays get the stored response.
+     * Completion is recorded after the operation returns.
+     */
+    public WalletResponse execute(String key, WalletOperationRequest request, Supplier<WalletResponse> operation) {
+        return execute(key, request, operation, false);
+    }
+    
+    /**
+     * Like {@link #execute}, for an operation that locks the key and records its completion
+     * in the same transaction as the balance change (see {@link WalletService#processOperation(WalletOperationRequest, String)})
+     */
+    public WalletResponse executeInTransaction(String key, WalletOperationRequest request,
+                                               Supplier<WalletResponse> operation) {
+        return execute(key, request, operation, true);
+    }
+    
+    /**
+     * Like {@link #execute}, for an operation that completes asynchronously (the shards).
+     * Its outcome is recorded on the given executor, so the thread completing the future
+     * never waits on the database.
+     */
+    public CompletableFuture<WalletResponse> executeAsync(String key, WalletOperationRequest request,
+                                                          Supplier<CompletableFuture<WalletResponse>> operation,
+                                                          Executor executor) {
+        String fingerprint = fingerprint(request);
+        Optional<WalletResponse> replayed = replay(key, request, fingerprint);
+        if (replayed.isPresent()) {
+            return CompletableFuture.completedFuture(replayed.get());
+        }
+        
+        CompletableFuture<WalletResponse> future;
+        try {
+            future = operation.get();
+        } catch (RuntimeException e) {
+            release(key, e, false);
+            throw e;
+        }
+        return future.handleAsync((response, error) -> {
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause() : error;
+                release(key, cause, false);
+                throw error instanceof CompletionException completion ? completion : new CompletionException(error);
+            }
+            complete(key, fingerprint, response, false);
+            return response;
+        }, executor);
+    }
+    
+    private WalletResponse execute(String key, WalletOperationRequest request, Supplier<WalletResponse> operation,
+                                   boolean completesInTransaction) {
+        String fingerprint = fingerprint(request);
+        Optional<WalletResponse> replayed = replay(key, request, fingerprint);
+        if (replayed.isPresent()) {
+            return replayed.get();
+        }
+        
+        WalletResponse response;
+        try {
+            response = operation.get();
+        } catch (RuntimeException e) {
+            release(key, e, completesInTransaction);
+            throw e;
+        }
+        
+        complete(key, fingerprint, response, completesInTransaction);
+        return response;
+    }
+    
+    /**
+     * The stored response for a completed key; otherwise the key is reserved (or a stale
+     * reservation taken over) for this request and empty is returned
+     */
+    private Optional<WalletResponse> replay(String key, WalletOperationRequest request, String fingerprint) {
+        long start = System.nanoTime();
+        
+        Completed cached = responses.getIfPresent(key);
+        if (cached != null) {
+            checkSameRequest(key, fingerprint, cached.fingerprint());
+            cacheHitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return Optional.of(cached.response());
+        }
+        
+        if (idempotencyRecordRepository.reserve(key, request.getValletId(), fingerprint) == 0) {
+            Optional<WalletResponse> stored = findCompleted(key, fingerprint);
+            if (stored.isPresent()) {
+                responses.put(key, new Completed(fingerprint, stored.get()));
+                storeHitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                log.debug("Replayed idempotent request {} for wallet {}", key, request.getValletId());
+                return stored;
+            }
+            takeOverPending(key);
+        }
+        missTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return Optional.empty();
+    }
+    
+    private void complete(String key, String fingerprint, WalletResponse response, boolean completesInTransaction) {
+        if (!completesInTransaction) {
+            idempotencyRecordRepository.complete(key, response.getBalance());
+        }
+        responses.put(key, new Completed(fingerprint, response));
+    }
+    
+    /**
+     * Drop keys past the retention window
+     */
+    @Scheduled(fixedDelayString = "${wallet.idempotency.purge-interval:PT1H}")
+    public void purgeExpired() {
+        long retentionSeconds = walletProperties.getIdempotency().getRetention().toSeconds();
+        int purged = idempotencyRecordRepository.deleteOlderThan(retentionSeconds);
+        if (purged > 0) {
+            log.info("Purged {} expired idempotency keys", purged);
+        }
+    }
+    
+    /**
+     * The stored response, or empty while the key is still pending
+     */
+    private Optional<WalletResponse> findCompleted(String key, String fingerprint) {
+        Optional<IdempotencyRecord> record = idempotencyRecordRepository.findById(key);
+        if (record.isEmpty()) {
+            // Purged or released between our insert and this read; the client may simply retry
+            throw new IdempotencyConflictException(
+                "A request with Idempotency-Key " + key + " is still being processed");
+        }
+        checkSameRequest(key, fingerprint, record.get().getRequestFingerprint());
+        if (record.get().getBalance() == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new WalletResponse(record.get().getWalletId(), record.get().getBalance()));
+    }
+    
+    /**
+     * A pending key either belongs to a request still running or to one that died before
+     * recording its outcome; only the latter, recognised by age, is taken over
+     */
+    private void takeOverPending(String key) {
+        long timeoutSeconds = walletProperties.getIdempotency().getPendingTimeout().toSeconds();
+        if (idempotencyRecordRepository.takeOver(key, timeoutSeconds) == 0) {
+            throw new IdempotencyConflictException(
+                "A request with Idempotency-Key " + key + " is still being processed");
+        }
+        log.warn("Took over idempotency key {} left pending for over {}s", key, timeoutSeconds);
+    }
+    
+    /**
+     * Free the key for a retry when the failed operation is known to have applied nothing:
+     * always for a transactional operation, whose completion would have committed with it,
+     * and for a business rejection otherwise. Any other failure may follow a durable effect
+     * (e.g. a journaled deposit), so the key stays pending until the pending timeout.
+     */
+    private void release(String key, Throwable failure, boolean completesInTransaction) {
+        if (completesInTransaction || failure instanceof BusinessException) {
+            idempotencyRecordRepository.deletePending(key);
+        } else {
+            log.warn("Keeping idempotency key {} pending after an unexpected failure: {}", key, failure.getMessage());
+        }
+    }
+    
+    private void checkSameRequest(String key, String fingerprint, String storedFingerprint) {
+        // Keys reserved before fingerprints were stored have none
+        if (storedFingerprint != null && !storedFingerprint.equals(fingerprint)) {
+            throw new IdempotencyConflictException(
+                "Idempotency-Key " + key + " was already used for a different request");
+        }
+    }
+    
+    /**
+     * Wallet, operation type and amount in minor units, so 10 and 10.00 match
+     */
+    static String fingerprint(WalletOperationRequest request) {
+        return request.getValletId() + ":" + request.getOperationType() + ":"
+            + MinorUnits.fromDecimal(request.getAmount());
+    }
+    
+    private static Timer dedupeTimer(MeterRegistry meterRegistry, String result) {
+        return Timer.builder("wallet.idempotency.lookup")
+            .description("Time spent resolving an Idempotency-Key")
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+    
+    private record Completed(String fingerprint, WalletResponse response) {
+    }
+}
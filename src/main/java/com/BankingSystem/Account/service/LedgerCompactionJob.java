@@ -0,0 +1,46 @@
+package com.BankingSystem.Account.service;
+
+import com.BankingSystem.Account.config.WalletProperties;
+import com.BankingSystem.Account.repository.WalletTransactionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Periodically compacts busy ledgers into balance snapshots so that
+ * deriving a balance only has to sum a short tail of entries
+ */
+@Component
+@ConditionalOnProperty(prefix = "wallet.ledger", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class LedgerCompactionJob {
+    
+    private final WalletLedgerService walletLedgerService;
+    private final WalletTransactionRepository walletTransactionRepository;
+    private final WalletProperties walletProperties;
+    
+    @Scheduled(fixedDelayString = "${wallet.ledger.compaction-interval:PT30S}")
+    public void compact() {
+        WalletProperties.Ledger ledger = walletProperties.getLedger();
+        List<UUID> walletIds = walletTransactionRepository.findWalletsToCompact(
+            ledger.getCompactionThreshold(), ledger.getCompactionBatchSize());
+        
+        for (UUID walletId : walletIds) {
+            try {
+                walletLedgerService.compact(walletId);
+            } catch (RuntimeException e) {
+                log.warn("Ledger compaction failed for wallet {}: {}", walletId, e.getMessage());
+            }
+        }
+        
+        if (!walletIds.isEmpty()) {
+            log.info("Compacted ledgers of {} wallets", walletIds.size());
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.BankingSystem.Account.service;
+
+import com.BankingSystem.Account.dto.WalletResponse;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Outcome of a single operation inside a batch: either the response or the failure
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class OperationResult {
+    
+    private final WalletResponse response;
+    private final RuntimeException error;
+    
+    public static OperationResult success(WalletResponse response) {
+        return new OperationResult(response, null);
+    }
+    
+    public static OperationResult failure(RuntimeException error) {
+        return new OperationResult(null, error);
+    }
+    
+    public boolean isSuccess() {
+        return error == null;
+    }
+    
+    /**
+     * Return the response or rethrow the failure in the caller's thread
+     */
+    public WalletResponse getOrThrow() {
+        if (error != null) {
+            throw error;
+        }
+        return response;
+    }
+}
@@ -0,0 +1,117 @@
+package com.BankingSystem.Account.service;
+
+import com.BankingSystem.Account.config.CacheConfig;
+import com.BankingSystem.Account.config.WalletProperties;
+import com.BankingSystem.Account.dto.BatchItemResult;
+import com.BankingSystem.Account.dto.BatchOperationResponse;
+import com.BankingSystem.Account.dto.WalletOperationRequest;
+import com.BankingSystem.Account.dto.WalletResponse;
+import com.BankingSystem.Account.exception.BusinessException;
+import com.BankingSystem.Account.exception.ServiceBusyException;
+import com.BankingSystem.Account.exception.WalletNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs a list of operations over many wallets in a few chunked transactions
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class WalletBatchService {
+    
+    private final WalletService walletService;
+    private final WalletProperties walletProperties;
+    private final CacheManager cacheManager;
+    
+    public BatchOperationResponse process(List<WalletOperationRequest> requests) {
+        int maxSize = walletProperties.getBatch().getMaxSize();
+        if (requests.size() > maxSize) {
+            throw new IllegalArgumentException("Batch size " + requests.size() + " exceeds the limit of " + maxSize);
+        }
+        
+        List<OperationResult> outcomes = new ArrayList<>(requests.size());
+        
+        if (walletProperties.getLedger().isEnabled()) {
+            // Ledger entries are independent inserts; there is no row lock to share
+            for (WalletOperationRequest request : requests) {
+                outcomes.add(runSingle(request));
+            }
+        } else {
+            int chunkSize = walletProperties.getBatch().getChunkSize();
+            for (int from = 0; from < requests.size(); from += chunkSize) {
+                List<WalletOperationRequest> chunk = requests.subList(from, Math.min(from + chunkSize, requests.size()));
+                outcomes.addAll(walletService.processChunk(chunk));
+                evictBalances(chunk);
+            }
+        }
+        
+        List<BatchItemResult> results = new ArrayList<>(outcomes.size());
+        int succeeded = 0;
+        for (int i = 0; i < outcomes.size(); i++) {
+            OperationResult outcome = outcomes.get(i);
+            results.add(toItemResult(requests.get(i), outcome));
+            if (outcome.isSuccess()) {
+                succeeded++;
+            }
+        }
+        
+        log.info("Processed batch of {} operations: {} succeeded, {} failed",
+            requests.size(), succeeded, requests.size() - succeeded);
+        return new BatchOperationResponse(succeeded, requests.size() - succeeded, results);
+    }
+    
+    /**
+     * The chunk has committed by now, so cached balances of its wallets can go
+     */
+    private void evictBalances(List<WalletOperationRequest> chunk) {
+        Cache balances = cacheManager.getCache(CacheConfig.WALLET_BALANCES);
+        if (balances == null) {
+            return;
+        }
+        for (WalletOperationRequest request : chunk) {
+            balances.evict(request.getValletId());
+        }
+    }
+    
+    /**
+     * Like {@link WalletService#processChunk}, a failed item is reported in its result
+     * rather than aborting the items after it
+     */
+    private OperationResult runSingle(WalletOperationRequest request) {
+        try {
+            return OperationResult.success(walletService.processOperation(request));
+        } catch (RuntimeException e) {
+            return OperationResult.failure(e);
+        }
+    }
+    
+    private BatchItemResult toItemResult(WalletOperationRequest request, OperationResult outcome) {
+        if (outcome.isSuccess()) {
+            WalletResponse response = outcome.getResponse();
+            return new BatchItemResult(response.getWalletId(), HttpStatus.OK.value(), response.getBalance(), null);
+        }
+        
+        RuntimeException error = outcome.getError();
+        if (error instanceof WalletNotFoundException) {
+            return new BatchItemResult(request.getValletId(), HttpStatus.NOT_FOUND.value(), null, error.getMessage());
+        }
+        if (error instanceof ServiceBusyException) {
+            return new BatchItemResult(request.getValletId(), HttpStatus.SERVICE_UNAVAILABLE.value(), null,
+                error.getMessage());
+        }
+        if (error instanceof BusinessException || error instanceof IllegalArgumentException) {
+            return new BatchItemResult(request.getValletId(), HttpStatus.BAD_REQUEST.value(), null, error.getMessage());
+        }
+        log.error("Batch operation on wallet {} failed", request.getValletId(), error);
+        return new BatchItemResult(request.getValletId(), HttpStatus.INTERNAL_SERVER_ERROR.value(), null,
+            "An unexpected error occurred");
+    }
+}
@@ -0,0 +1,268 @@
+package com.BankingSystem.Account.service;
+
+import com.BankingSystem.Account.dto.ImportIssue;
+import com.BankingSystem.Account.dto.MinorUnits;
+import com.BankingSystem.Account.dto.WalletImportResponse;
+import com.BankingSystem.Account.dto.WalletImportRow;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Streaming bulk import and export of wallets.
+ *
+ * Import reads the body line by line and pipes each valid row straight into a
+ * COPY of a temporary table, so neither the body nor the rows are held in memory;
+ * one INSERT ... ON CONFLICT DO NOTHING then moves them into wallets. Export reads
+ * through a server-side cursor and writes each row as it arrives.
+ */
+@Service
+@Slf4j
+public class WalletBulkService {
+    
+    public enum Format {
+        NDJSON,
+        CSV;
+        
+        public static Format fromParameter(String value) {
+            for (Format format : values()) {
+                if (format.name().equalsIgnoreCase(value)) {
+                    return format;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported format: " + value + " (expected ndjson or csv)");
+        }
+    }
+    
+    // Duplicate and rejected lines listed in the response, each
+    static final int MAX_REPORTED_LINES = 1000;
+    
+    private static final int EXPORT_FETCH_SIZE = 1000;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    
+    private static final String CREATE_STAGING_TABLE =
+        "CREATE TEMP TABLE wallet_import (line BIGINT, id UUID, balance_minor BIGINT) ON COMMIT DROP";
+    
+    private static final String COPY_STAGING_TABLE =
+        "COPY wallet_import (line, id, balance_minor) FROM STDIN WITH (FORMAT csv)";
+    
+    // The first occurrence of each ID is inserted; every other row is reported as a duplicate
+    private static final String INSERT_FROM_STAGING_TABLE = """
+        WITH ranked AS (
+            SELECT line, id, balance_minor,
+                   row_number() OVER (PARTITION BY id ORDER BY line) AS occurrence
+            FROM wallet_import
+        ), inserted AS (
+            INSERT INTO wallets (id, balance_minor)
+            SELECT id, balance_minor FROM ranked WHERE occurrence = 1
+            ON CONFLICT (id) DO NOTHING
+            RETURNING id
+        )
+        SELECT r.line, r.id, count(*) OVER () AS duplicates
+        FROM ranked r
+        WHERE r.occurrence > 1 OR NOT EXISTS (SELECT 1 FROM inserted i WHERE i.id = r.id)
+        ORDER BY r.line
+        LIMIT ?
+        """;
+    
+    private static final String EXPORT_WALLETS = "SELECT id, balance_minor FROM wallets ORDER BY id";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectReader rowReader;
+    
+    public WalletBulkService(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.rowReader = objectMapper.readerFor(WalletImportRow.class);
+    }
+    
+    /**
+     * Create wallets from (walletId, openingBalance) rows in one transaction.
+     * Malformed lines are skipped and reported; existing or repeated IDs are reported as duplicates.
+     */
+    @Transactional
+    public WalletImportResponse importWallets(InputStream body, Format format) {
+        return jdbcTemplate.execute((ConnectionCallback<WalletImportResponse>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(CREATE_STAGING_TABLE);
+            }
+            
+            List<ImportIssue> rejectedLines = new ArrayList<>();
+            long[] counts;
+            try {
+                counts = copyRows(connection, body, format, rejectedLines);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Reading the import body failed", e);
+            }
+            long loaded = counts[0];
+            long rejected = counts[1];
+            
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("ANALYZE wallet_import");
+            }
+            
+            List<ImportIssue> duplicateLines = new ArrayList<>();
+            long duplicates = 0;
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_FROM_STAGING_TABLE)) {
+                statement.setInt(1, MAX_REPORTED_LINES);
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        duplicates = rs.getLong("duplicates");
+                        duplicateLines.add(new ImportIssue(rs.getLong("line"), rs.getObject("id", UUID.class),
+                            "Wallet already exists"));
+                    }
+                }
+            }
+            
+            log.info("Imported {} wallets: {} duplicates, {} rejected lines", loaded - duplicates, duplicates, rejected);
+            return new WalletImportResponse(loaded - duplicates, duplicates, rejected, duplicateLines, rejectedLines);
+        });
+    }
+    
+    /**
+     * Returns {rows copied, lines rejected}
+     */
+    private long[] copyRows(Connection connection, InputStream body, Format format,
+                            List<ImportIssue> rejectedLines) throws SQLException, IOException {
+        PGConnection pgConnection = connection.unwrap(PGConnection.class);
+        long loaded = 0;
+        long rejected = 0;
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8), BUFFER_SIZE);
+             Writer out = new BufferedWriter(new OutputStreamWriter(
+                 new PGCopyOutputStream(pgConnection, COPY_STAGING_TABLE, BUFFER_SIZE), StandardCharsets.UTF_8),
+                 BUFFER_SIZE)) {
+            String line;
+            long lineNumber = 0;
+            while ((line = in.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank() || (lineNumber == 1 && format == Format.CSV && isCsvHeader(line))) {
+                    continue;
+                }
+                try {
+                    WalletImportRow row = format == Format.CSV ? parseCsv(line) : rowReader.readValue(line);
+                    long openingBalance = validate(row);
+                    out.write(Long.toString(lineNumber));
+                    out.write(',');
+                    out.write(row.getWalletId().toString());
+                    out.write(',');
+                    out.write(Long.toString(openingBalance));
+                    out.write('\n');
+                    loaded++;
+                } catch (IllegalArgumentException | JsonProcessingException e) {
+                    rejected++;
+                    if (rejectedLines.size() < MAX_REPORTED_LINES) {
+                        rejectedLines.add(new ImportIssue(lineNumber, null, e.getMessage()));
+                    }
+                }
+            }
+        }
+        return new long[]{loaded, rejected};
+    }
+    
+    /**
+     * Stream every wallet with its balance, one line per wallet
+     */
+    @Transactional(readOnly = true)
+    public void exportWallets(Format format, OutputStream body) {
+        Writer out = new BufferedWriter(new OutputStreamWriter(body, StandardCharsets.UTF_8), BUFFER_SIZE);
+        try {
+            if (format == Format.CSV) {
+                out.write("walletId,balance\n");
+            }
+            // Inside a transaction the driver fetches through a cursor, EXPORT_FETCH_SIZE rows at a time
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(EXPORT_WALLETS);
+                statement.setFetchSize(EXPORT_FETCH_SIZE);
+                return statement;
+            }, (RowCallbackHandler) rs -> writeRow(out, format,
+                rs.getObject(1, UUID.class), MinorUnits.toDecimal(rs.getLong(2))));
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Writing the export failed", e);
+        }
+    }
+    
+    private static void writeRow(Writer out, Format format, UUID walletId, BigDecimal balance) {
+        try {
+            if (format == Format.CSV) {
+                out.write(walletId.toString());
+                out.write(',');
+                out.write(balance.toPlainString());
+                out.write('\n');
+            } else {
+                out.write("{\"walletId\":\"");
+                out.write(walletId.toString());
+                out.write("\",\"balance\":");
+                out.write(balance.toPlainString());
+                out.write("}\n");
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Writing the export failed", e);
+        }
+    }
+    
+    private static long validate(WalletImportRow row) {
+        // A literal null line
+        if (row == null) {
+            throw new IllegalArgumentException("Expected a JSON object");
+        }
+        if (row.getWalletId() == null) {
+            throw new IllegalArgumentException("walletId is required");
+        }
+        if (row.getOpeningBalance() == null) {
+            throw new IllegalArgumentException("openingBalance is required");
+        }
+        long openingBalance = MinorUnits.fromDecimal(row.getOpeningBalance());
+        if (openingBalance < 0) {
+            throw new IllegalArgumentException("openingBalance must not be negative");
+        }
+        return openingBalance;
+    }
+    
+    private static WalletImportRow parseCsv(String line) {
+        String[] fields = line.split(",", -1);
+        if (fields.length != 2) {
+            throw new IllegalArgumentException("Expected walletId,openingBalance");
+        }
+        return new WalletImportRow(UUID.fromString(unquote(fields[0])), new BigDecimal(unquote(fields[1])));
+    }
+    
+    private static boolean isCsvHeader(String line) {
+        return unquote(line.split(",", -1)[0]).equalsIgnoreCase("walletId");
+    }
+    
+    private static String unquote(String field) {
+        String trimmed = field.trim();
+        if (trimmed.length() >= 2 && trimmed.startsWith("\"") && trimmed.endsWith("\"")) {
+            return trimmed.substring(1, trimmed.length() - 1);
+        }
+        return trimmed;
+    }
+}
@@ -0,0 +1,82 @@
+package com.BankingSystem.Account.service;
+
+import com.BankingSystem.Account.config.WalletProperties;
+import com.BankingSystem.Account.exception.ServiceBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps concurrent calls that borrow a database connection at roughly the connection pool size.
+ *
+ * With virtual threads there is no Tomcat pool to bound concurrency, so without this
+ * every request would sit in Hikari's getConnection queue until connection-timeout.
+ * Covered are the services that query the database (WalletService, history, bulk import
+ * and export) and the idempotency key store; IdempotencyService itself is not, as it also
+ * waits on the combiner and the shards while holding nothing. A call made while the thread
+ * already holds a permit runs on that permit. Permits are taken after the balance cache
+ * (a hit needs no connection) and the wallet stripe lock (a queued caller should not hold
+ * a permit), and before retry and transaction advice. Callers that cannot get one within
+ * max-wait get a 503.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 3)
+@Slf4j
+public class WalletBulkhead {
+    
+    static final String CONNECTION_USERS =
+        "execution(public * com.BankingSystem.Account.service.WalletService.*(..))"
+        + " || execution(public * com.BankingSystem.Account.service.WalletHistoryService.*(..))"
+        + " || execution(public * com.BankingSystem.Account.service.WalletBulkService.*(..))"
+        // Repository methods are mostly inherited (findById), so matched by the bean's type
+        + " || (target(com.BankingSystem.Account.repository.IdempotencyRecordRepository)"
+        + " && !execution(* java.lang.Object.*(..)))";
+    
+    private final WalletProperties walletProperties;
+    private final Semaphore permits;
+    private final ThreadLocal<Boolean> holdsPermit = new ThreadLocal<>();
+    private final Counter rejections;
+    
+    public WalletBulkhead(WalletProperties walletProperties, MeterRegistry meterRegistry) {
+        this.walletProperties = walletProperties;
+        this.permits = new Semaphore(walletProperties.getBulkhead().getMaxConcurrentCalls(), true);
+        this.rejections = Counter.builder("wallet.bulkhead.rejections")
+            .description("Calls rejected because no bulkhead permit became free in time")
+            .register(meterRegistry);
+        Gauge.builder("wallet.bulkhead.available", permits, Semaphore::availablePermits)
+            .description("Free bulkhead permits")
+            .register(meterRegistry);
+    }
+    
+    @Around(CONNECTION_USERS)
+    public Object limit(ProceedingJoinPoint joinPoint) throws Throwable {
+        WalletProperties.Bulkhead bulkhead = walletProperties.getBulkhead();
+        if (!bulkhead.isEnabled() || holdsPermit.get() != null) {
+            return joinPoint.proceed();
+        }
+        
+        if (!permits.tryAcquire(bulkhead.getMaxWait().toMillis(), TimeUnit.MILLISECONDS)) {
+            rejections.increment();
+            log.warn("Bulkhead full, rejecting {}", joinPoint.getSignature().getName());
+            throw new ServiceBusyException("Too many concurrent wallet operations, retry later");
+        }
+        holdsPermit.set(Boolean.TRUE);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            holdsPermit.remove();
+            permits.release();
+        }
+    }
+}
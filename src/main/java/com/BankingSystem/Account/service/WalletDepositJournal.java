@@ -0,0 +1,524 @@
+package com.BankingSystem.Account.service;
+
+import com.BankingSystem.Account.config.CacheConfig;
+import com.BankingSystem.Account.config.WalletProperties;
+import com.BankingSystem.Account.dto.MinorUnits;
+import com.BankingSystem.Account.dto.WalletOperationRequest;
+import com.BankingSystem.Account.dto.WalletResponse;
+import com.BankingSystem.Account.entity.DepositJournalCheckpoint;
+import com.BankingSystem.Account.repository.DepositJournalCheckpointRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.StampedLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Write-behind path for deposits.
+ *
+ * A deposit is appended to a memory-mapped, append-only segment file and acknowledged
+ * once that range is fsynced; concurrent appenders share one fsync (group commit).
+ * A flusher thread reads the durable records, sums them per wallet and applies them
+ * to Postgres in one transaction together with the journal checkpoint, so after a
+ * crash exactly the unapplied tail is replayed. Until then the amounts are kept as
+ * pending per wallet and added to the stored balance on reads.
+ *
+ * Records are fixed-size: wallet ID (16 bytes), amount in minor units (8) and a CRC32C (4).
+ * Segments are never reused; a full one is sealed and a new generation is started,
+ * as it is on every startup, so a torn tail can never be followed by stale records.
+ */
+@Component
+@Slf4j
+public class WalletDepositJournal {
+    
+    static final int RECORD_SIZE = 28;
+    
+    private static final String SEGMENT_PREFIX = "deposits-";
+    private static final String SEGMENT_SUFFIX = ".journal";
+    
+    private final WalletService walletService;
+    private final DepositJournalCheckpointRepository checkpointRepository;
+    private final WalletProperties walletProperties;
+    private final CacheManager cacheManager;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transactionTemplate;
+    
+    // Segments not yet fully applied, oldest first; the last one is being appended to
+    private final Deque<Segment> segments = new ArrayDeque<>();
+    // Locks rather than monitors, so a virtual thread waiting on an fsync is not pinned
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final ReentrantLock syncLock = new ReentrantLock();
+    private final ReentrantLock appliedLock = new ReentrantLock();
+    private final Condition appliedAdvanced = appliedLock.newCondition();
+    
+    // Positions are (generation << 32 | offset), so they order across segments
+    private final AtomicLong durablePosition = new AtomicLong();
+    private volatile long appliedPosition;
+    
+    // Durable deposits not yet in the wallets table, in minor units
+    private final Map<UUID, Long> pending = new ConcurrentHashMap<>();
+    
+    // Readers combine stored balance and pending under an optimistic read; committing a flush takes the write lock
+    private final StampedLock balanceLock = new StampedLock();
+    
+    private Timer fsyncTimer;
+    private DistributionSummary flushSize;
+    private volatile Thread flusher;
+    private volatile boolean running;
+    
+    public WalletDepositJournal(WalletService walletService, DepositJournalCheckpointRepository checkpointRepository,
+                                WalletProperties walletProperties, CacheManager cacheManager,
+                                MeterRegistry meterRegistry, TransactionTemplate transactionTemplate) {
+        this.walletService = walletService;
+        this.checkpointRepository = checkpointRepository;
+        this.walletProperties = walletProperties;
+        this.cacheManager = cacheManager;
+        this.meterRegistry = meterRegistry;
+        this.transactionTemplate = transactionTemplate;
+    }
+    
+    @PostConstruct
+    public void start() {
+        if (!walletProperties.isWriteBehindActive()) {
+            return;
+        }
+        fsyncTimer = Timer.builder("wallet.journal.fsync")
+            .description("Duration of one group fsync of the deposit journal")
+            .register(meterRegistry);
+        flushSize = DistributionSummary.builder("wallet.journal.flush.size")
+            .description("Journal records applied to Postgres per transaction")
+            .register(meterRegistry);
+        Gauge.builder("wallet.journal.pending.wallets", pending, Map::size)
+            .description("Wallets with deposits not yet applied to Postgres")
+            .register(meterRegistry);
+        
+        recover();
+        running = true;
+        flusher = new Thread(this::flushLoop, "wallet-journal-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        Thread thread = flusher;
+        if (thread == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    /**
+     * Journal a deposit and return once it is durable. The returned balance includes
+     * all pending deposits of the wallet.
+     */
+    public WalletResponse deposit(WalletOperationRequest request) {
+        UUID walletId = request.getValletId();
+        long amount = MinorUnits.fromDecimal(request.getAmount());
+        
+        // Unknown wallets get their 404 here; the stored balance is usually cached
+        walletService.getWalletBalance(walletId);
+        
+        awaitDurable(append(walletId, amount));
+        return getBalance(walletId);
+    }
+    
+    /**
+     * Stored balance plus deposits that are durable but not yet applied. The stored
+     * balance is read past the balance cache: a value loaded just before a flush commits
+     * would otherwise stay cached after the flush has taken its deposits out of pending.
+     */
+    public WalletResponse getBalance(UUID walletId) {
+        WalletResponse stored;
+        long pendingAmount;
+        while (true) {
+            long stamp = balanceLock.tryOptimisticRead();
+            if (stamp == 0) {
+                // A flush is committing; wait it out without holding anything during our own reads
+                balanceLock.unlockRead(balanceLock.readLock());
+                continue;
+            }
+            stored = walletService.getStoredBalance(walletId);
+            pendingAmount = pending.getOrDefault(walletId, 0L);
+            if (balanceLock.validate(stamp)) {
+                break;
+            }
+        }
+        if (pendingAmount == 0) {
+            return stored;
+        }
+        long balance = MinorUnits.add(MinorUnits.fromDecimal(stored.getBalance()), pendingAmount);
+        return new WalletResponse(walletId, MinorUnits.toDecimal(balance));
+    }
+    
+    /**
+     * Wait until the wallet's pending deposits are in Postgres, so a withdrawal can count
+     * on them. Gives up after wallet.write-behind.apply-wait and lets the caller proceed.
+     */
+    public void awaitApplied(UUID walletId) {
+        if (!pending.containsKey(walletId)) {
+            return;
+        }
+        long target = durablePosition.get();
+        long deadline = System.nanoTime() + walletProperties.getWriteBehind().getApplyWait().toNanos();
+        LockSupport.unpark(flusher);
+        appliedLock.lock();
+        try {
+            long remaining;
+            while (appliedPosition < target && (remaining = deadline - System.nanoTime()) > 0) {
+                appliedAdvanced.awaitNanos(remaining);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            appliedLock.unlock();
+        }
+    }
+    
+    private long append(UUID walletId, long amount) {
+        appendLock.lock();
+        try {
+            Segment segment = segments.getLast();
+            if (segment.writeOffset + RECORD_SIZE > segment.capacity) {
+                segment = rotate(segment);
+            }
+            int offset = segment.writeOffset;
+            MappedByteBuffer buffer = segment.buffer;
+            buffer.putLong(offset, walletId.getMostSignificantBits());
+            buffer.putLong(offset + 8, walletId.getLeastSignificantBits());
+            buffer.putLong(offset + 16, amount);
+            buffer.putInt(offset + 24, checksum(buffer, offset));
+            segment.writeOffset = offset + RECORD_SIZE;
+            // Counted before the record can be flushed, so the flusher's subtraction always follows it
+            pending.merge(walletId, amount, WalletDepositJournal::sumOrRemove);
+            return position(segment.generation, segment.writeOffset);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+    
+    /**
+     * Group commit: whoever gets the sync lock forces everything appended so far,
+     * which usually covers the callers queued behind it as well
+     */
+    private void awaitDurable(long position) {
+        if (durablePosition.get() >= position) {
+            return;
+        }
+        syncLock.lock();
+        try {
+            long durable = durablePosition.get();
+            if (durable >= position) {
+                return;
+            }
+            Segment segment;
+            int end;
+            appendLock.lock();
+            try {
+                segment = segments.getLast();
+                end = segment.writeOffset;
+            } finally {
+                appendLock.unlock();
+            }
+            int from = generationOf(durable) == segment.generation ? offsetOf(durable) : 0;
+            long start = System.nanoTime();
+            segment.buffer.force(from, end - from);
+            fsyncTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            durablePosition.accumulateAndGet(position(segment.generation, end), Math::max);
+        } finally {
+            syncLock.unlock();
+        }
+    }
+    
+    // Called with appendLock held
+    private Segment rotate(Segment full) {
+        full.buffer.force();
+        durablePosition.accumulateAndGet(position(full.generation, full.writeOffset), Math::max);
+        Segment next = openSegment(full.generation + 1);
+        segments.addLast(next);
+        log.info("Deposit journal rotated to segment {}", next.generation);
+        return next;
+    }
+    
+    private void flushLoop() {
+        long interval = walletProperties.getWriteBehind().getFlushInterval().toNanos();
+        while (running) {
+            LockSupport.parkNanos(interval);
+            try {
+                flushDurable();
+            } catch (RuntimeException e) {
+                log.warn("Applying journaled deposits failed, will retry: {}", e.getMessage());
+                LockSupport.parkNanos(TimeUnit.SECONDS.toNanos(1));
+            }
+        }
+        try {
+            flushDurable();
+        } catch (RuntimeException e) {
+            log.warn("Final flush of journaled deposits failed; they are replayed on restart: {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * Apply every durable record, at most max-batch-size per transaction
+     */
+    void flushDurable() {
+        String journalId = walletProperties.getWriteBehind().getJournalId();
+        int maxRecords = walletProperties.getWriteBehind().getMaxBatchSize();
+        while (true) {
+            Segment segment;
+            Segment next;
+            appendLock.lock();
+            try {
+                Iterator<Segment> iterator = segments.iterator();
+                segment = iterator.next();
+                next = iterator.hasNext() ? iterator.next() : null;
+            } finally {
+                appendLock.unlock();
+            }
+            long durable = durablePosition.get();
+            // A sealed segment was forced when it was rotated; in the current one only up to the last fsync
+            int limit = next != null
+                ? segment.writeOffset
+                : generationOf(durable) == segment.generation ? offsetOf(durable) : 0;
+            
+            if (segment.readOffset >= limit) {
+                if (next == null) {
+                    return;
+                }
+                // Sealed and fully applied: move the checkpoint past it, then drop the file
+                applyBatch(journalId, new TreeMap<>(), next.generation, 0);
+                appendLock.lock();
+                try {
+                    segments.removeFirst();
+                } finally {
+                    appendLock.unlock();
+                }
+                markApplied(position(next.generation, 0));
+                deleteSegment(segment);
+                continue;
+            }
+            
+            int end = Math.min(limit, segment.readOffset + maxRecords * RECORD_SIZE);
+            SortedMap<UUID, Long> deposits = new TreeMap<>();
+            for (int offset = segment.readOffset; offset < end; offset += RECORD_SIZE) {
+                UUID walletId = new UUID(segment.buffer.getLong(offset), segment.buffer.getLong(offset + 8));
+                deposits.merge(walletId, segment.buffer.getLong(offset + 16), MinorUnits::add);
+            }
+            applyBatch(journalId, deposits, segment.generation, end);
+            flushSize.record((end - segment.readOffset) / RECORD_SIZE);
+            segment.readOffset = end;
+            markApplied(position(segment.generation, end));
+        }
+    }
+    
+    /**
+     * The write lock is taken only once the transaction holds its connection and has
+     * done its updates, so readers are held back for the commit alone
+     */
+    private void applyBatch(String journalId, SortedMap<UUID, Long> deposits, long generation, int offset) {
+        long[] stamp = new long[1];
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                walletService.applyJournalDeposits(journalId, deposits, generation, offset);
+                stamp[0] = balanceLock.writeLock();
+            });
+            Cache balances = cacheManager.getCache(CacheConfig.WALLET_BALANCES);
+            for (Map.Entry<UUID, Long> deposit : deposits.entrySet()) {
+                if (balances != null) {
+                    balances.evict(deposit.getKey());
+                }
+                pending.merge(deposit.getKey(), -deposit.getValue(), WalletDepositJournal::sumOrRemove);
+            }
+        } finally {
+            if (stamp[0] != 0) {
+                balanceLock.unlockWrite(stamp[0]);
+            }
+        }
+    }
+    
+    private void markApplied(long position) {
+        appliedLock.lock();
+        try {
+            appliedPosition = position;
+            appliedAdvanced.signalAll();
+        } finally {
+            appliedLock.unlock();
+        }
+    }
+    
+    /**
+     * Reopen segments from the checkpoint on, reload their records as pending and
+     * start a fresh segment for new appends
+     */
+    private void recover() {
+        WalletProperties.WriteBehind writeBehind = walletProperties.getWriteBehind();
+        Path directory = Path.of(writeBehind.getDirectory());
+        DepositJournalCheckpoint checkpoint = checkpointRepository.findById(writeBehind.getJournalId())
+            .orElse(null);
+        long checkpointGeneration = checkpoint == null ? 0 : checkpoint.getGeneration();
+        long checkpointOffset = checkpoint == null ? 0 : checkpoint.getPosition();
+        
+        long lastGeneration = checkpointGeneration;
+        int replayed = 0;
+        try {
+            Files.createDirectories(directory);
+            for (long generation : existingGenerations(directory)) {
+                Path file = segmentPath(generation);
+                if (generation < checkpointGeneration) {
+                    Files.delete(file);
+                    continue;
+                }
+                Segment segment = mapSegment(generation, file, Files.size(file));
+                segment.readOffset = generation == checkpointGeneration ? (int) checkpointOffset : 0;
+                segment.writeOffset = segment.readOffset;
+                while (segment.writeOffset + RECORD_SIZE <= segment.capacity && isValid(segment, segment.writeOffset)) {
+                    int offset = segment.writeOffset;
+                    UUID walletId = new UUID(segment.buffer.getLong(offset), segment.buffer.getLong(offset + 8));
+                    pending.merge(walletId, segment.buffer.getLong(offset + 16), WalletDepositJournal::sumOrRemove);
+                    segment.writeOffset += RECORD_SIZE;
+                    replayed++;
+                }
+                segment.buffer.force();
+                segments.addLast(segment);
+                lastGeneration = Math.max(lastGeneration, generation);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open deposit journal in " + directory, e);
+        }
+        
+        Segment current = openSegment(lastGeneration + 1);
+        segments.addLast(current);
+        durablePosition.set(position(current.generation, 0));
+        Segment oldest = segments.getFirst();
+        appliedPosition = position(oldest.generation, oldest.readOffset);
+        log.info("Deposit journal opened at segment {} with {} unapplied deposits", current.generation, replayed);
+    }
+    
+    private List<Long> existingGenerations(Path directory) throws IOException {
+        List<Long> generations = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.map(file -> file.getFileName().toString())
+                .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                .forEach(name -> generations.add(Long.parseLong(
+                    name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()))));
+        }
+        generations.sort(null);
+        return generations;
+    }
+    
+    private Segment openSegment(long generation) {
+        long size = walletProperties.getWriteBehind().getSegmentSize().toBytes();
+        long capacity = Math.min(size, Integer.MAX_VALUE) / RECORD_SIZE * RECORD_SIZE;
+        try {
+            return mapSegment(generation, segmentPath(generation), capacity);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create deposit journal segment " + generation, e);
+        }
+    }
+    
+    private static Segment mapSegment(long generation, Path file, long size) throws IOException {
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // The mapping stays valid after the channel is closed
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            return new Segment(generation, file, buffer, (int) (size / RECORD_SIZE * RECORD_SIZE));
+        }
+    }
+    
+    private void deleteSegment(Segment segment) {
+        try {
+            Files.deleteIfExists(segment.file);
+        } catch (IOException e) {
+            log.warn("Cannot delete applied journal segment {}: {}", segment.file, e.getMessage());
+        }
+    }
+    
+    private Path segmentPath(long generation) {
+        return Path.of(walletProperties.getWriteBehind().getDirectory(),
+            String.format("%s%016d%s", SEGMENT_PREFIX, generation, SEGMENT_SUFFIX));
+    }
+    
+    private static boolean isValid(Segment segment, int offset) {
+        return segment.buffer.getLong(offset + 16) > 0
+            && segment.buffer.getInt(offset + 24) == checksum(segment.buffer, offset);
+    }
+    
+    private static int checksum(MappedByteBuffer buffer, int offset) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(offset, RECORD_SIZE - 4));
+        return (int) crc.getValue();
+    }
+    
+    private static Long sumOrRemove(Long current, Long delta) {
+        long sum = current + delta;
+        return sum == 0 ? null : sum;
+    }
+    
+    private static long position(long generation, int offset) {
+        return generation << 32 | offset;
+    }
+    
+    private static long generationOf(long position) {
+        return position >>> 32;
+    }
+    
+    private static int offsetOf(long position) {
+        return (int) position;
+    }
+    
+    private static class Segment {
+        final long generation;
+        final Path file;
+        final MappedByteBuffer buffer;
+        final int capacity;
+        // Guarded by appendLock; fixed once the segment is sealed
+        volatile int writeOffset;
+        // Only touched by the flusher (and recovery before it starts)
+        int readOffset;
+        
+        Segment(long generation, Path file, MappedByteBuffer buffer, int capacity) {
+            this.generation = generation;
+            this.file = file;
+            this.buffer = buffer;
+            this.capacity = capacity;
+        }
+    }
+}
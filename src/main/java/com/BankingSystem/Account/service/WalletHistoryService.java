@@ -0,0 +1,164 @@
+package com.BankingSystem.Account.service;
+
+import com.BankingSystem.Account.config.WalletProperties;
+import com.BankingSystem.Account.dto.MinorUnits;
+import com.BankingSystem.Account.dto.WalletHistoryEntry;
+import com.BankingSystem.Account.dto.WalletHistoryPage;
+import com.BankingSystem.Account.dto.WalletResponse;
+import com.BankingSystem.Account.entity.WalletOperation;
+import com.BankingSystem.Account.entity.WalletTransaction;
+import com.BankingSystem.Account.exception.WalletNotFoundException;
+import com.BankingSystem.Account.repository.WalletOperationRepository;
+import com.BankingSystem.Account.repository.WalletRepository;
+import com.BankingSystem.Account.repository.WalletTransactionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Point-in-time balances and paginated operation history.
+ *
+ * With the balance column as the source of truth, history comes from wallet_operations,
+ * where every row carries the balance after it. In ledger mode the ledger entries are
+ * the history and a past balance is the latest snapshot taken by then plus the later
+ * entries. Pages are keyset-paginated on (created_at, id), newest first.
+ */
+@Service
+@RequiredArgsConstructor
+public class WalletHistoryService {
+    
+    static final int MAX_PAGE_SIZE = 500;
+    
+    private final WalletOperationRepository walletOperationRepository;
+    private final WalletTransactionRepository walletTransactionRepository;
+    private final WalletRepository walletRepository;
+    private final WalletProperties walletProperties;
+    
+    // Fixed once the history migration has run, so read once
+    private volatile Instant historyStart;
+    
+    /**
+     * Balance as it was at {@code asOf}; not found if the wallet did not exist yet, refused
+     * if {@code asOf} lies before history was recorded
+     */
+    @Transactional(readOnly = true)
+    public WalletResponse getBalanceAsOf(UUID walletId, OffsetDateTime asOf) {
+        // The opening entry is written in every mode, so it also tells whether the wallet existed
+        WalletOperation latest = walletOperationRepository.findLatestAsOf(walletId, asOf)
+            .orElseThrow(() -> notRecorded(walletId, asOf));
+        
+        if (!walletProperties.getLedger().isEnabled()) {
+            return new WalletResponse(walletId, MinorUnits.toDecimal(latest.getBalanceMinor()));
+        }
+        BigDecimal balance = walletTransactionRepository.findDerivedBalanceAsOf(walletId, toLedgerTime(asOf.toInstant()))
+            .orElseThrow(() -> new WalletNotFoundException(walletId));
+        return new WalletResponse(walletId, balance);
+    }
+    
+    /**
+     * Without an entry by {@code asOf} the wallet either did not exist yet or, before the
+     * history started, nothing was recorded for it
+     */
+    private RuntimeException notRecorded(UUID walletId, OffsetDateTime asOf) {
+        Instant start = historyStart;
+        if (start == null) {
+            start = walletOperationRepository.findHistoryStart().orElse(Instant.MIN);
+            historyStart = start;
+        }
+        if (asOf.toInstant().isBefore(start)) {
+            return new IllegalArgumentException("No balance history before " + start);
+        }
+        return new WalletNotFoundException(walletId);
+    }
+    
+    /**
+     * One page of the wallet's history, newest first, continuing after {@code cursor} if given
+     */
+    @Transactional(readOnly = true)
+    public WalletHistoryPage getHistory(UUID walletId, String cursor, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        Cursor after = cursor == null ? null : Cursor.decode(cursor);
+        
+        List<WalletHistoryEntry> entries = walletProperties.getLedger().isEnabled()
+            ? ledgerPage(walletId, after, limit)
+            : operationsPage(walletId, after, limit);
+        
+        if (entries.isEmpty() && after == null && !walletRepository.existsById(walletId)) {
+            throw new WalletNotFoundException(walletId);
+        }
+        String nextCursor = null;
+        if (entries.size() == limit) {
+            WalletHistoryEntry last = entries.get(entries.size() - 1);
+            nextCursor = new Cursor(last.getCreatedAt().toInstant(), last.getId()).encode();
+        }
+        return new WalletHistoryPage(entries, nextCursor);
+    }
+    
+    private List<WalletHistoryEntry> operationsPage(UUID walletId, Cursor after, int limit) {
+        List<WalletOperation> operations = after == null
+            ? walletOperationRepository.findFirstPage(walletId, limit)
+            : walletOperationRepository.findPageBefore(walletId, after.createdAt().atOffset(ZoneOffset.UTC), after.id(), limit);
+        return operations.stream()
+            .map(operation -> new WalletHistoryEntry(
+                operation.getId(),
+                MinorUnits.toDecimal(operation.getAmountMinor()),
+                MinorUnits.toDecimal(operation.getBalanceMinor()),
+                operation.getCreatedAt()))
+            .toList();
+    }
+    
+    private List<WalletHistoryEntry> ledgerPage(UUID walletId, Cursor after, int limit) {
+        List<WalletTransaction> transactions = after == null
+            ? walletTransactionRepository.findFirstPage(walletId, limit)
+            : walletTransactionRepository.findPageBefore(walletId, toLedgerTime(after.createdAt()), after.id(), limit);
+        return transactions.stream()
+            .map(transaction -> new WalletHistoryEntry(
+                transaction.getId(),
+                transaction.getAmount(),
+                null,
+                transaction.getCreatedAt().atZone(ZoneId.systemDefault()).toOffsetDateTime()))
+            .toList();
+    }
+    
+    /**
+     * Ledger timestamps are local date-times written in the JVM's zone
+     */
+    private static LocalDateTime toLedgerTime(Instant instant) {
+        return LocalDateTime.ofInstant(instant, ZoneId.systemDefault());
+    }
+    
+    /**
+     * Position after the last entry of a page, as an opaque URL-safe token
+     */
+    record Cursor(Instant createdAt, long id) {
+        
+        String encode() {
+            String raw = createdAt + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+        
+        static Cursor decode(String token) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+                int separator = raw.indexOf('|');
+                return new Cursor(Instant.parse(raw.substring(0, separator)), Long.parseLong(raw.substring(separator + 1)));
+            } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid cursor: " + token);
+            }
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.BankingSystem.Account.service;
+
+import com.BankingSystem.Account.dto.TransferRequest;
+import com.BankingSystem.Account.dto.TransferResponse;
+import com.BankingSystem.Account.dto.WalletOperationRequest;
+import com.BankingSystem.Account.dto.WalletResponse;
+import com.BankingSystem.Account.entity.WalletBalanceSnapshot;
+import com.BankingSystem.Account.entity.WalletTransaction;
+import com.BankingSystem.Account.exception.InsufficientFundsException;
+import com.BankingSystem.Account.exception.WalletNotFoundException;
+import com.BankingSystem.Account.repository.WalletBalanceSnapshotRepository;
+import com.BankingSystem.Account.repository.WalletRepository;
+import com.BankingSystem.Account.repository.WalletTransactionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Ledger-based wallet engine.
+ *
+ * Every operation is a single insert into {@code wallet_transactions}; the balance is
+ * derived from the latest snapshot plus the entries written after it. Deposits only take
+ * a shared KEY SHARE lock on the wallet row. Withdrawals serialize on a NO KEY UPDATE lock
+ * so that the derived balance they check cannot be spent twice.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class WalletLedgerService {
+    
+    private final WalletRepository walletRepository;
+    private final WalletTransactionRepository walletTransactionRepository;
+    private final WalletBalanceSnapshotRepository walletBalanceSnapshotRepository;
+    
+    /**
+     * Record a deposit or withdrawal as a ledger entry
+     */
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public WalletResponse processOperation(WalletOperationRequest request) {
+        switch (request.getOperationType()) {
+            case WITHDRAW:
+                return withdraw(request.getValletId(), request.getAmount());
+            case DEPOSIT:
+            default:
+                return deposit(request.getValletId(), request.getAmount());
+        }
+    }
+    
+    /**
+     * Record a transfer as a withdrawal entry on the source and a deposit entry on the target.
+     * The source row is locked NO KEY UPDATE and the target KEY SHARE; the two never
+     * conflict, so opposite transfers cannot deadlock.
+     */
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public TransferResponse transfer(TransferRequest request) {
+        UUID targetId = request.getToWalletId();
+        WalletResponse source = withdraw(request.getFromWalletId(), request.getAmount());
+        recordDeposit(targetId, request.getAmount());
+        return new TransferResponse(source, getBalance(targetId));
+    }
+    
+    /**
+     * Balance derived from the latest snapshot plus newer ledger entries
+     */
+    @Transactional(readOnly = true)
+    public WalletResponse getBalance(UUID walletId) {
+        BigDecimal balance = walletTransactionRepository.findDerivedBalance(walletId)
+            .orElseThrow(() -> new WalletNotFoundException(walletId));
+        return new WalletResponse(walletId, balance);
+    }
+    
+    /**
+     * Fold the ledger entries of one wallet into a new snapshot.
+     * The exclusive row lock makes sure no entry below the snapshot's
+     * last transaction id can still commit afterwards.
+     */
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public void compact(UUID walletId) {
+        if (walletRepository.lockForCompaction(walletId).isEmpty()) {
+            return;
+        }
+        
+        Optional<Long> lastTransactionId = walletTransactionRepository.findLastTransactionId(walletId);
+        if (lastTransactionId.isEmpty()) {
+            return;
+        }
+        
+        BigDecimal balance = walletTransactionRepository.findDerivedBalance(walletId)
+            .orElseThrow(() -> new WalletNotFoundException(walletId));
+        walletBalanceSnapshotRepository.save(
+            new WalletBalanceSnapshot(walletId, lastTransactionId.get(), balance));
+        
+        log.debug("Compacted ledger of wallet {} up to transaction {}", walletId, lastTransactionId.get());
+    }
+    
+    private WalletResponse deposit(UUID walletId, BigDecimal amount) {
+        recordDeposit(walletId, amount);
+        log.debug("Recorded deposit of {} to wallet {}", amount, walletId);
+        
+        return getBalance(walletId);
+    }
+    
+    /**
+     * KEY SHARE before the insert: a compaction then either finishes before the entry draws
+     * its id or waits for it to commit, so no snapshot can skip it. The lock doubles as the
+     * existence check and, unlike NO KEY UPDATE, lets deposits to one wallet run in parallel.
+     */
+    private void recordDeposit(UUID walletId, BigDecimal amount) {
+        walletRepository.lockForLedgerDeposit(walletId)
+            .orElseThrow(() -> new WalletNotFoundException(walletId));
+        walletTransactionRepository.save(
+            new WalletTransaction(walletId, WalletOperationRequest.OperationType.DEPOSIT, amount));
+    }
+    
+    private WalletResponse withdraw(UUID walletId, BigDecimal amount) {
+        walletRepository.lockForLedgerWithdrawal(walletId)
+            .orElseThrow(() -> new WalletNotFoundException(walletId));
+        
+        BigDecimal balance = walletTransactionRepository.findDerivedBalance(walletId)
+            .orElseThrow(() -> new WalletNotFoundException(walletId));
+        if (balance.compareTo(amount) < 0) {
+            throw new InsufficientFundsException();
+        }
+        
+        walletTransactionRepository.save(
+            new WalletTransaction(walletId, WalletOperationRequest.OperationType.WITHDRAW, amount));
+        log.debug("Recorded withdrawal of {} from wallet {}", amount, walletId);
+        
+        return new WalletResponse(walletId, balance.subtract(amount));
+    }
+}
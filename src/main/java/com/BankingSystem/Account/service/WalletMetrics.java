@@ -0,0 +1,84 @@
+package com.BankingSystem.Account.service;
+
+import com.BankingSystem.Account.dto.WalletOperationRequest;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Timers for the write hot path, kept apart so a slow p99 can be attributed.
+ *
+ * wallet.operation covers a single operation from where it is dispatched to its write path
+ * to its outcome: the service call (stripe wait, retries, transaction), the combiner's wait
+ * for its batch, a shard from enqueue to commit, or the journal fsync for write-behind
+ * deposits. wallet.lock.acquire covers only the row-locking queries. Retries are published
+ * by spring-retry as spring.retry and pool starvation by Hikari as
+ * hikaricp.connections.acquire.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@RequiredArgsConstructor
+public class WalletMetrics {
+    
+    private final MeterRegistry meterRegistry;
+    
+    @Around("(execution(public * com.BankingSystem.Account.service.WalletService.processOperation(..))"
+        + " || execution(public * com.BankingSystem.Account.service.WalletDepositJournal.deposit(..))"
+        + " || execution(public * com.BankingSystem.Account.service.WalletOperationCombiner.submit(..))"
+        + " || execution(public * com.BankingSystem.Account.service.WalletShardedEngine.submit(..)))"
+        + " && args(request, ..)")
+    public Object timeOperation(ProceedingJoinPoint joinPoint, WalletOperationRequest request) throws Throwable {
+        String type = request.getOperationType() == null ? "unknown" : request.getOperationType().name();
+        return time(joinPoint, Timer.builder("wallet.operation")
+            .description("Wallet operation latency including lock waits and retries")
+            .tag("type", type));
+    }
+    
+    @Around("execution(* com.BankingSystem.Account.repository.WalletRepository.findByIdWithLock(..))"
+        + " || execution(* com.BankingSystem.Account.repository.WalletRepository.findAllByIdWithLock(..))"
+        + " || execution(* com.BankingSystem.Account.repository.WalletRepository.lockForLedgerWithdrawal(..))"
+        + " || execution(* com.BankingSystem.Account.repository.WalletRepository.lockForLedgerDeposit(..))"
+        + " || execution(* com.BankingSystem.Account.repository.WalletRepository.lockForCompaction(..))"
+        + " || execution(* com.BankingSystem.Account.repository.WalletJdbcRepository.lockBalance(..))")
+    public Object timeLockAcquire(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, Timer.builder("wallet.lock.acquire")
+            .description("Time spent waiting for and taking Postgres row locks")
+            .tag("query", joinPoint.getSignature().getName()));
+    }
+    
+    /**
+     * A returned future (the shards) is timed until it completes; the caller keeps the
+     * same future, so cancelling it still reaches the shard
+     */
+    private Object time(ProceedingJoinPoint joinPoint, Timer.Builder timer) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable e) {
+            sample.stop(timer.tag("exception", e.getClass().getSimpleName()).register(meterRegistry));
+            throw e;
+        }
+        if (result instanceof CompletableFuture<?> future) {
+            future.whenComplete((value, error) -> sample.stop(timer.tag("exception",
+                error == null ? "none" : unwrap(error).getClass().getSimpleName()).register(meterRegistry)));
+        } else {
+            sample.stop(timer.tag("exception", "none").register(meterRegistry));
+        }
+        return result;
+    }
+    
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+}
@@ -0,0 +1,109 @@
+package com.BankingSystem.Account.service;
+
+import com.BankingSystem.Account.config.WalletProperties;
+import com.BankingSystem.Account.dto.WalletOperationRequest;
+import com.BankingSystem.Account.dto.WalletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write combining for hot wallets.
+ *
+ * Callers enqueue their operation on a per-wallet queue and then compete for the
+ * wallet's combiner lock. Whoever gets it drains everything queued so far and applies
+ * it through {@link WalletService#processBatch} in one transaction, so the database
+ * row is locked once per batch instead of once per request. Callers whose operation
+ * was applied by another thread just pick up their own result.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class WalletOperationCombiner {
+    
+    private final WalletService walletService;
+    private final WalletProperties walletProperties;
+    
+    private final ConcurrentHashMap<UUID, CombiningQueue> queues = new ConcurrentHashMap<>();
+    
+    /**
+     * Submit an operation and block until its batch has been committed
+     */
+    public WalletResponse submit(WalletOperationRequest request) {
+        UUID walletId = request.getValletId();
+        PendingOperation operation = new PendingOperation(request);
+        
+        CombiningQueue queue = queues.computeIfAbsent(walletId, id -> new CombiningQueue());
+        queue.pending.add(operation);
+        
+        queue.lock.lock();
+        try {
+            // Our operation sits in this queue, so draining it until we're done always terminates
+            while (operation.result == null) {
+                combine(walletId, queue);
+            }
+        } finally {
+            if (queue.pending.isEmpty()) {
+                // Late arrivals still hold the queue reference and will drain it themselves
+                queues.remove(walletId, queue);
+            }
+            queue.lock.unlock();
+        }
+        
+        return operation.result.getOrThrow();
+    }
+    
+    private void combine(UUID walletId, CombiningQueue queue) {
+        int maxBatchSize = walletProperties.getCombining().getMaxBatchSize();
+        List<PendingOperation> batch = new ArrayList<>();
+        PendingOperation next;
+        while (batch.size() < maxBatchSize && (next = queue.pending.poll()) != null) {
+            batch.add(next);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        
+        List<WalletOperationRequest> requests = new ArrayList<>(batch.size());
+        for (PendingOperation pending : batch) {
+            requests.add(pending.request);
+        }
+        
+        try {
+            List<OperationResult> results = walletService.processBatch(walletId, requests);
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).result = results.get(i);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Combined batch of {} operations failed for wallet {}: {}",
+                batch.size(), walletId, e.getMessage());
+            OperationResult failure = OperationResult.failure(e);
+            for (PendingOperation pending : batch) {
+                pending.result = failure;
+            }
+        }
+    }
+    
+    private static class CombiningQueue {
+        final Queue<PendingOperation> pending = new ConcurrentLinkedQueue<>();
+        final ReentrantLock lock = new ReentrantLock();
+    }
+    
+    private static class PendingOperation {
+        final WalletOperationRequest request;
+        // Written and read under the queue lock
+        OperationResult result;
+        
+        PendingOperation(WalletOperationRequest request) {
+            this.request = request;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.BankingSystem.Account.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logs one INFO line per interval summarising wallet operations, in place of a line per request.
+ * Counts are taken from the wallet.operation timers, so the request path does no extra work.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class WalletOperationLogSummary {
+    
+    private final MeterRegistry meterRegistry;
+    
+    // Cumulative count and total time per timer at the previous summary
+    private final Map<Timer.Id, long[]> previous = new HashMap<>();
+    
+    @Scheduled(fixedDelayString = "${wallet.logging.summary-interval:PT1M}")
+    public void logSummary() {
+        if (!log.isInfoEnabled()) {
+            return;
+        }
+        String summary = summarize();
+        if (summary != null) {
+            log.info(summary);
+        }
+    }
+    
+    /**
+     * Operations since the previous call, or null if there were none
+     */
+    synchronized String summarize() {
+        StringJoiner counts = new StringJoiner(", ");
+        long total = 0;
+        for (Timer timer : meterRegistry.find("wallet.operation").timers()) {
+            long count = timer.count();
+            long totalNanos = (long) timer.totalTime(TimeUnit.NANOSECONDS);
+            long[] last = previous.put(timer.getId(), new long[]{count, totalNanos});
+            long delta = last == null ? count : count - last[0];
+            if (delta <= 0) {
+                continue;
+            }
+            long deltaNanos = last == null ? totalNanos : totalNanos - last[1];
+            total += delta;
+            counts.add(String.format("%s/%s=%d (avg %.1fms)",
+                timer.getId().getTag("type"), timer.getId().getTag("exception"),
+                delta, deltaNanos / 1_000_000.0 / delta));
+        }
+        return total == 0 ? null : "Processed " + total + " wallet operations: " + counts;
+    }
+}
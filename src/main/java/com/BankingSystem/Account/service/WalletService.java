@@ -1,13 +1,27 @@
 package com.BankingSystem.Account.service;
 
+import com.BankingSystem.Account.config.CacheConfig;
+import com.BankingSystem.Account.config.WalletProperties;
+import com.BankingSystem.Account.dto.BulkCreateWalletsResponse;
+import com.BankingSystem.Account.dto.MinorUnits;
+import com.BankingSystem.Account.dto.TransferRequest;
+import com.BankingSystem.Account.dto.TransferResponse;
 import com.BankingSystem.Account.dto.WalletOperationRequest;
 import com.BankingSystem.Account.dto.WalletResponse;
 import com.BankingSystem.Account.entity.Wallet;
 import com.BankingSystem.Account.exception.InsufficientFundsException;
+import com.BankingSystem.Account.exception.WalletAlreadyExistsException;
 import com.BankingSystem.Account.exception.WalletNotFoundException;
+import com.BankingSystem.Account.repository.DepositJournalCheckpointRepository;
+import com.BankingSystem.Account.repository.IdempotencyRecordRepository;
+import com.BankingSystem.Account.repository.WalletJdbcRepository;
 import com.BankingSystem.Account.repository.WalletRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.retry.annotation.Backoff;
 import org.springframework.retry.annotation.Retryable;
@@ -15,7 +29,19 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedMap;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -23,52 +49,318 @@ import java.util.UUID;
 public class WalletService {
     
     private final WalletRepository walletRepository;
+    private final WalletJdbcRepository walletJdbcRepository;
+    private final DepositJournalCheckpointRepository depositJournalCheckpointRepository;
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final WalletLedgerService walletLedgerService;
+    private final WalletProperties walletProperties;
     
     /**
      * Process wallet operation with pessimistic locking for high concurrency
      * Retries on optimistic locking failures
      */
+    @CacheEvict(cacheNames = CacheConfig.WALLET_BALANCES, key = "#request.valletId")
     @Transactional(isolation = Isolation.READ_COMMITTED)
     @Retryable(
+        label = "processOperation",
         retryFor = {ObjectOptimisticLockingFailureException.class},
         maxAttempts = 3,
         backoff = @Backoff(delay = 100, multiplier = 2)
     )
     public WalletResponse processOperation(WalletOperationRequest request) {
+        return process(request);
+    }
+    
+    /**
+     * Process an operation carrying an Idempotency-Key reserved by {@link IdempotencyService}.
+     * The key is locked first and completed in the same transaction as the balance change,
+     * so the two commit or roll back together; an attempt that finds the key already
+     * completed (a retry taking over a reservation that did commit) returns its response.
+     */
+    @CacheEvict(cacheNames = CacheConfig.WALLET_BALANCES, key = "#request.valletId")
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    @Retryable(
+        label = "processIdempotentOperation",
+        retryFor = {ObjectOptimisticLockingFailureException.class},
+        maxAttempts = 3,
+        backoff = @Backoff(delay = 100, multiplier = 2)
+    )
+    public WalletResponse processOperation(WalletOperationRequest request, String idempotencyKey) {
+        Optional<BigDecimal> completed = idempotencyRecordRepository.lockCompletedBalance(idempotencyKey);
+        if (completed.isPresent()) {
+            return new WalletResponse(request.getValletId(), completed.get());
+        }
+        
+        WalletResponse response = process(request);
+        idempotencyRecordRepository.complete(idempotencyKey, response.getBalance());
+        return response;
+    }
+    
+    private WalletResponse process(WalletOperationRequest request) {
+        if (walletProperties.getLedger().isEnabled()) {
+            return walletLedgerService.processOperation(request);
+        }
+        if (walletProperties.getWritePath() == WalletProperties.WritePath.CONDITIONAL_UPDATE) {
+            return processWithConditionalUpdate(request);
+        }
+        if (walletProperties.getPersistence() == WalletProperties.Persistence.JDBC) {
+            return processWithJdbcLock(request);
+        }
+        
         UUID walletId = request.getValletId();
         
         // Use pessimistic locking to handle high concurrency (1000 RPS)
         Wallet wallet = walletRepository.findByIdWithLock(walletId)
             .orElseThrow(() -> new WalletNotFoundException(walletId));
         
-        try {
-            switch (request.getOperationType()) {
-                case DEPOSIT:
-                    wallet.deposit(request.getAmount());
-                    log.info("Deposited {} to wallet {}", request.getAmount(), walletId);
-                    break;
-                case WITHDRAW:
-                    wallet.withdraw(request.getAmount());
-                    log.info("Withdrawn {} from wallet {}", request.getAmount(), walletId);
-                    break;
+        applyOperation(wallet, request);
+        
+        Wallet savedWallet = walletRepository.save(wallet);
+        return new WalletResponse(savedWallet.getId(), savedWallet.getBalance());
+    }
+    
+    /**
+     * Single round trip: the UPDATE both checks funds and returns the new balance.
+     * Only a rejected update needs a second query to tell "not found" from "insufficient funds".
+     */
+    private WalletResponse processWithConditionalUpdate(WalletOperationRequest request) {
+        UUID walletId = request.getValletId();
+        long amount = MinorUnits.fromDecimal(request.getAmount());
+        long delta = request.getOperationType() == WalletOperationRequest.OperationType.WITHDRAW
+            ? -amount
+            : amount;
+        
+        Optional<Long> balance = walletProperties.getPersistence() == WalletProperties.Persistence.JDBC
+            ? walletJdbcRepository.applyDelta(walletId, delta)
+            : walletRepository.applyDelta(walletId, delta);
+        if (balance.isPresent()) {
+            log.debug("Applied {} of {} to wallet {}", request.getOperationType(), request.getAmount(), walletId);
+            return new WalletResponse(walletId, MinorUnits.toDecimal(balance.get()));
+        }
+        
+        if (!walletRepository.existsById(walletId)) {
+            throw new WalletNotFoundException(walletId);
+        }
+        throw new InsufficientFundsException();
+    }
+    
+    /**
+     * The locking-select path without the persistence context: the balance is read
+     * under FOR UPDATE, the operation is applied to a detached Wallet for its rules,
+     * and the result is written back with one UPDATE.
+     */
+    private WalletResponse processWithJdbcLock(WalletOperationRequest request) {
+        UUID walletId = request.getValletId();
+        long balance = walletJdbcRepository.lockBalance(walletId)
+            .orElseThrow(() -> new WalletNotFoundException(walletId));
+        
+        Wallet wallet = new Wallet(walletId);
+        wallet.setBalanceMinor(balance);
+        applyOperation(wallet, request);
+        
+        walletJdbcRepository.updateBalance(walletId, wallet.getBalanceMinor());
+        return new WalletResponse(walletId, wallet.getBalance());
+    }
+    
+    /**
+     * Apply a queue of operations for one wallet under a single row lock.
+     * Operations run in order; a rejected one (e.g. overdraw) fails on its own
+     * without affecting the rest. The wallet is saved once at the end.
+     */
+    @CacheEvict(cacheNames = CacheConfig.WALLET_BALANCES, key = "#walletId")
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    @Retryable(
+        label = "processBatch",
+        retryFor = {ObjectOptimisticLockingFailureException.class},
+        maxAttempts = 3,
+        backoff = @Backoff(delay = 100, multiplier = 2)
+    )
+    public List<OperationResult> processBatch(UUID walletId, List<WalletOperationRequest> requests) {
+        Optional<Wallet> lockedWallet = walletRepository.findByIdWithLock(walletId);
+        if (lockedWallet.isEmpty()) {
+            WalletNotFoundException notFound = new WalletNotFoundException(walletId);
+            return requests.stream()
+                .map(request -> OperationResult.failure(notFound))
+                .collect(Collectors.toList());
+        }
+        
+        Wallet wallet = lockedWallet.get();
+        List<OperationResult> results = new ArrayList<>(requests.size());
+        boolean modified = false;
+        
+        for (WalletOperationRequest request : requests) {
+            try {
+                applyOperation(wallet, request);
+                results.add(OperationResult.success(new WalletResponse(walletId, wallet.getBalance())));
+                modified = true;
+            } catch (RuntimeException e) {
+                results.add(OperationResult.failure(e));
+            }
+        }
+        
+        if (modified) {
+            walletRepository.save(wallet);
+        }
+        log.debug("Combined {} operations for wallet {}", requests.size(), walletId);
+        return results;
+    }
+    
+    /**
+     * Apply operations spanning many wallets in one transaction.
+     * All involved rows are locked up front in primary-key order; updates are
+     * flushed together at commit and go out as JDBC batches.
+     */
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    @Retryable(
+        label = "processChunk",
+        retryFor = {ObjectOptimisticLockingFailureException.class},
+        maxAttempts = 3,
+        backoff = @Backoff(delay = 100, multiplier = 2)
+    )
+    public List<OperationResult> processChunk(List<WalletOperationRequest> requests) {
+        Set<UUID> walletIds = requests.stream()
+            .map(WalletOperationRequest::getValletId)
+            .collect(Collectors.toSet());
+        
+        Map<UUID, Wallet> wallets = new HashMap<>();
+        for (Wallet wallet : walletRepository.findAllByIdWithLock(walletIds)) {
+            wallets.put(wallet.getId(), wallet);
+        }
+        
+        List<OperationResult> results = new ArrayList<>(requests.size());
+        for (WalletOperationRequest request : requests) {
+            Wallet wallet = wallets.get(request.getValletId());
+            if (wallet == null) {
+                results.add(OperationResult.failure(new WalletNotFoundException(request.getValletId())));
+                continue;
+            }
+            try {
+                applyOperation(wallet, request);
+                results.add(OperationResult.success(new WalletResponse(wallet.getId(), wallet.getBalance())));
+            } catch (RuntimeException e) {
+                results.add(OperationResult.failure(e));
             }
-            
-            Wallet savedWallet = walletRepository.save(wallet);
-            return new WalletResponse(savedWallet.getId(), savedWallet.getBalance());
-            
-        } catch (IllegalArgumentException e) {
-            if (e.getMessage().contains("Insufficient funds")) {
-                throw new InsufficientFundsException(e.getMessage());
+        }
+        
+        log.debug("Applied chunk of {} operations across {} wallets", requests.size(), wallets.size());
+        return results;
+    }
+    
+    /**
+     * Apply journaled deposits, summed per wallet, and advance the journal checkpoint
+     * in one transaction. Rows are updated in primary-key order; deposits cannot
+     * overdraw, so the conditional update only misses for a deleted wallet.
+     */
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public void applyJournalDeposits(String journalId, SortedMap<UUID, Long> deposits,
+                                     long generation, long position) {
+        for (Map.Entry<UUID, Long> deposit : deposits.entrySet()) {
+            if (walletRepository.applyDelta(deposit.getKey(), deposit.getValue()).isEmpty()) {
+                log.warn("Dropped journaled deposit of {} minor units to missing wallet {}",
+                    deposit.getValue(), deposit.getKey());
             }
-            throw e;
+        }
+        depositJournalCheckpointRepository.advance(journalId, generation, position);
+    }
+    
+    /**
+     * Move funds between two wallets atomically.
+     * Both rows are locked by a single primary-key-ordered query, so opposite
+     * transfers (A to B, B to A) queue behind each other instead of deadlocking.
+     */
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheConfig.WALLET_BALANCES, key = "#request.fromWalletId"),
+        @CacheEvict(cacheNames = CacheConfig.WALLET_BALANCES, key = "#request.toWalletId")
+    })
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    @Retryable(
+        label = "transfer",
+        retryFor = {ObjectOptimisticLockingFailureException.class},
+        maxAttempts = 3,
+        backoff = @Backoff(delay = 100, multiplier = 2)
+    )
+    public TransferResponse transfer(TransferRequest request) {
+        if (request.getFromWalletId().equals(request.getToWalletId())) {
+            throw new IllegalArgumentException("Source and target wallets must differ");
+        }
+        if (walletProperties.getLedger().isEnabled()) {
+            return walletLedgerService.transfer(request);
+        }
+        
+        Map<UUID, Wallet> wallets = new HashMap<>();
+        for (Wallet wallet : walletRepository.findAllByIdWithLock(
+                List.of(request.getFromWalletId(), request.getToWalletId()))) {
+            wallets.put(wallet.getId(), wallet);
+        }
+        Wallet source = Optional.ofNullable(wallets.get(request.getFromWalletId()))
+            .orElseThrow(() -> new WalletNotFoundException(request.getFromWalletId()));
+        Wallet target = Optional.ofNullable(wallets.get(request.getToWalletId()))
+            .orElseThrow(() -> new WalletNotFoundException(request.getToWalletId()));
+        
+        long amount = MinorUnits.fromDecimal(request.getAmount());
+        withdraw(source, amount);
+        target.depositMinor(amount);
+        walletRepository.saveAll(List.of(source, target));
+        
+        log.debug("Transferred {} from wallet {} to wallet {}",
+            request.getAmount(), source.getId(), target.getId());
+        return new TransferResponse(
+            new WalletResponse(source.getId(), source.getBalance()),
+            new WalletResponse(target.getId(), target.getBalance()));
+    }
+    
+    /**
+     * The request amount is converted to minor units once; the arithmetic itself allocates nothing
+     */
+    private void applyOperation(Wallet wallet, WalletOperationRequest request) {
+        long amount = MinorUnits.fromDecimal(request.getAmount());
+        switch (request.getOperationType()) {
+            case DEPOSIT:
+                wallet.depositMinor(amount);
+                log.debug("Deposited {} to wallet {}", request.getAmount(), wallet.getId());
+                break;
+            case WITHDRAW:
+                withdraw(wallet, amount);
+                log.debug("Withdrawn {} from wallet {}", request.getAmount(), wallet.getId());
+                break;
+        }
+    }
+    
+    private void withdraw(Wallet wallet, long amount) {
+        if (!wallet.tryWithdrawMinor(amount)) {
+            throw new InsufficientFundsException();
         }
     }
     
     /**
-     * Get wallet balance by ID
+     * Get wallet balance by ID, served from the balance cache when present
      */
+    @Cacheable(cacheNames = CacheConfig.WALLET_BALANCES, key = "#walletId", sync = true)
     @Transactional(readOnly = true)
     public WalletResponse getWalletBalance(UUID walletId) {
+        return readBalance(walletId);
+    }
+    
+    /**
+     * Get the balance stored in the database, bypassing the balance cache; for the
+     * deposit journal, which adds its pending deposits and must not re-cache a value
+     * read just before a flush committed
+     */
+    @Transactional(readOnly = true)
+    public WalletResponse getStoredBalance(UUID walletId) {
+        return readBalance(walletId);
+    }
+    
+    private WalletResponse readBalance(UUID walletId) {
+        if (walletProperties.getLedger().isEnabled()) {
+            return walletLedgerService.getBalance(walletId);
+        }
+        if (walletProperties.getPersistence() == WalletProperties.Persistence.JDBC) {
+            long balance = walletJdbcRepository.findBalance(walletId)
+                .orElseThrow(() -> new WalletNotFoundException(walletId));
+            return new WalletResponse(walletId, MinorUnits.toDecimal(balance));
+        }
+        
         Wallet wallet = walletRepository.findById(walletId)
             .orElseThrow(() -> new WalletNotFoundException(walletId));
         
@@ -78,16 +370,33 @@ public class WalletService {
     /**
      * Create a new wallet with zero balance
      */
+    @CachePut(cacheNames = CacheConfig.WALLET_BALANCES, key = "#walletId")
     @Transactional
     public WalletResponse createWallet(UUID walletId) {
-        if (walletRepository.existsById(walletId)) {
-            throw new IllegalArgumentException("Wallet already exists with ID: " + walletId);
-        }
-        
-        Wallet wallet = new Wallet(walletId);
-        Wallet savedWallet = walletRepository.save(wallet);
+        // One INSERT ... ON CONFLICT DO NOTHING instead of exists + merge-select + insert
+        long balance = walletRepository.insertIfAbsent(walletId)
+            .orElseThrow(() -> new WalletAlreadyExistsException(walletId));
         
         log.info("Created new wallet with ID: {}", walletId);
-        return new WalletResponse(savedWallet.getId(), savedWallet.getBalance());
+        return new WalletResponse(walletId, MinorUnits.toDecimal(balance));
+    }
+    
+    /**
+     * Create many wallets with zero balance in one statement. IDs that already exist
+     * are left untouched and reported back rather than failing the whole request.
+     */
+    @Transactional
+    public BulkCreateWalletsResponse createWallets(Collection<UUID> walletIds) {
+        Set<UUID> requested = new LinkedHashSet<>(walletIds);
+        Set<UUID> created = new HashSet<>(walletRepository.insertAllIfAbsent(requested.toArray(new UUID[0])));
+        
+        List<UUID> createdIds = new ArrayList<>(created.size());
+        List<UUID> existingIds = new ArrayList<>(requested.size() - created.size());
+        for (UUID walletId : requested) {
+            (created.contains(walletId) ? createdIds : existingIds).add(walletId);
+        }
+        
+        log.info("Created {} wallets, {} already existed", createdIds.size(), existingIds.size());
+        return new BulkCreateWalletsResponse(createdIds, existingIds);
     }
 }
\ No newline at end of file
@@ -0,0 +1,243 @@
+package com.BankingSystem.Account.service;
+
+import com.BankingSystem.Account.config.CacheConfig;
+import com.BankingSystem.Account.config.WalletProperties;
+import com.BankingSystem.Account.dto.WalletOperationRequest;
+import com.BankingSystem.Account.dto.WalletResponse;
+import com.BankingSystem.Account.exception.ServiceBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Single-writer processing engine sharded by wallet ID.
+ *
+ * Every wallet hashes to exactly one shard, and each shard is one thread that owns
+ * all writes to its wallets. Operations for a wallet are therefore already in order
+ * when they reach the database: the shard drains whatever has queued up and commits
+ * it as one {@link WalletService#processChunk} transaction. Row locks stay in place
+ * for other instances but are never contended from inside this one, so there is no
+ * lock queue and no retry backoff. Shard threads start on first use.
+ */
+@Component
+@Slf4j
+public class WalletShardedEngine {
+    
+    private final WalletService walletService;
+    private final WalletProperties walletProperties;
+    private final CacheManager cacheManager;
+    private final MeterRegistry meterRegistry;
+    
+    private volatile Shard[] shards;
+    
+    public WalletShardedEngine(WalletService walletService, WalletProperties walletProperties,
+                               CacheManager cacheManager, MeterRegistry meterRegistry) {
+        this.walletService = walletService;
+        this.walletProperties = walletProperties;
+        this.cacheManager = cacheManager;
+        this.meterRegistry = meterRegistry;
+    }
+    
+    /**
+     * Queue an operation on its wallet's shard. The future completes once the
+     * shard's transaction has committed, or exceptionally with the operation's error.
+     * Cancelling it succeeds only while the operation is still queued, and then the
+     * shard skips it; once the shard has taken it up, cancel returns false.
+     */
+    public CompletableFuture<WalletResponse> submit(WalletOperationRequest request) {
+        Shard shard = shardFor(request.getValletId());
+        PendingOperation operation = new PendingOperation(request);
+        if (!shard.queue.offer(operation)) {
+            shard.rejections.increment();
+            operation.future.completeExceptionally(
+                new ServiceBusyException("Shard " + shard.index + " is full, retry later"));
+        }
+        return operation.future;
+    }
+    
+    private Shard shardFor(UUID walletId) {
+        Shard[] current = shards;
+        if (current == null) {
+            current = start();
+        }
+        int hash = walletId.hashCode();
+        return current[Math.floorMod(hash ^ (hash >>> 16), current.length)];
+    }
+    
+    private synchronized Shard[] start() {
+        if (shards == null) {
+            WalletProperties.Sharding sharding = walletProperties.getSharding();
+            int count = sharding.getShards() > 0 ? sharding.getShards() : Runtime.getRuntime().availableProcessors();
+            Shard[] created = new Shard[count];
+            for (int i = 0; i < count; i++) {
+                created[i] = new Shard(i, sharding.getQueueCapacity());
+                created[i].thread.start();
+            }
+            shards = created;
+            log.info("Started {} wallet shards", count);
+        }
+        return shards;
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        Shard[] current = shards;
+        if (current == null) {
+            return;
+        }
+        for (Shard shard : current) {
+            shard.thread.interrupt();
+        }
+    }
+    
+    private void drain(Shard shard) {
+        int maxBatchSize = walletProperties.getSharding().getMaxBatchSize();
+        List<PendingOperation> batch = new ArrayList<>(maxBatchSize);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(shard.queue.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            shard.queue.drainTo(batch, maxBatchSize - 1);
+            commit(shard, batch);
+            batch.clear();
+        }
+        
+        // Nothing will run the rest
+        PendingOperation left;
+        while ((left = shard.queue.poll()) != null) {
+            left.future.completeExceptionally(new ServiceBusyException("Shutting down, retry later"));
+        }
+    }
+    
+    private void commit(Shard shard, List<PendingOperation> queued) {
+        // Operations whose callers gave up waiting are dropped; the rest can no longer be cancelled
+        List<PendingOperation> batch = new ArrayList<>(queued.size());
+        List<WalletOperationRequest> requests = new ArrayList<>(queued.size());
+        for (PendingOperation pending : queued) {
+            if (pending.future.claim()) {
+                batch.add(pending);
+                requests.add(pending.request);
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        shard.batchSize.record(batch.size());
+        
+        List<OperationResult> results;
+        long start = System.nanoTime();
+        try {
+            results = walletService.processChunk(requests);
+        } catch (Throwable e) {
+            // Errors too: the shard thread has to survive them, and its callers must not wait forever
+            log.error("Shard {} failed to commit {} operations", shard.index, batch.size(), e);
+            for (PendingOperation pending : batch) {
+                pending.future.completeExceptionally(e);
+            }
+            return;
+        } finally {
+            shard.commitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        
+        // The transaction has committed, so cached balances of these wallets can go
+        Cache balances = cacheManager.getCache(CacheConfig.WALLET_BALANCES);
+        long now = System.nanoTime();
+        for (int i = 0; i < batch.size(); i++) {
+            PendingOperation pending = batch.get(i);
+            if (balances != null) {
+                balances.evict(pending.request.getValletId());
+            }
+            OperationResult result = results.get(i);
+            if (result.isSuccess()) {
+                pending.future.complete(result.getResponse());
+            } else {
+                pending.future.completeExceptionally(result.getError());
+            }
+            shard.latency.record(now - pending.enqueuedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+    
+    private class Shard {
+        final int index;
+        final BlockingQueue<PendingOperation> queue;
+        final Thread thread;
+        final Timer latency;
+        final Timer commitTimer;
+        final DistributionSummary batchSize;
+        final Counter rejections;
+        
+        Shard(int index, int capacity) {
+            this.index = index;
+            this.queue = new LinkedBlockingQueue<>(capacity);
+            String tag = String.valueOf(index);
+            this.latency = Timer.builder("wallet.shard.latency")
+                .description("Time from enqueue to commit of an operation")
+                .tag("shard", tag)
+                .register(meterRegistry);
+            this.commitTimer = Timer.builder("wallet.shard.commit")
+                .description("Duration of a shard's group-commit transaction")
+                .tag("shard", tag)
+                .register(meterRegistry);
+            this.batchSize = DistributionSummary.builder("wallet.shard.batch.size")
+                .description("Operations committed per shard transaction")
+                .tag("shard", tag)
+                .register(meterRegistry);
+            this.rejections = Counter.builder("wallet.shard.rejections")
+                .description("Operations rejected because the shard queue was full")
+                .tag("shard", tag)
+                .register(meterRegistry);
+            Gauge.builder("wallet.shard.queue.depth", queue, BlockingQueue::size)
+                .description("Operations waiting in the shard queue")
+                .tag("shard", tag)
+                .register(meterRegistry);
+            this.thread = new Thread(() -> drain(this), "wallet-shard-" + index);
+            this.thread.setDaemon(true);
+        }
+    }
+    
+    private static class PendingOperation {
+        final WalletOperationRequest request;
+        final ClaimableFuture future = new ClaimableFuture();
+        final long enqueuedAt = System.nanoTime();
+        
+        PendingOperation(WalletOperationRequest request) {
+            this.request = request;
+        }
+    }
+    
+    /**
+     * A result future that the shard claims before applying the operation; the caller
+     * and the shard race for the same flag, so a successful cancel means nothing was applied
+     */
+    private static class ClaimableFuture extends CompletableFuture<WalletResponse> {
+        private final AtomicBoolean claimed = new AtomicBoolean();
+        
+        boolean claim() {
+            return claimed.compareAndSet(false, true);
+        }
+        
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            return claim() && super.cancel(mayInterruptIfRunning);
+        }
+    }
+}
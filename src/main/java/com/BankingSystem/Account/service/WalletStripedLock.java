@@ -0,0 +1,131 @@
+package com.BankingSystem.Account.service;
+
+import com.BankingSystem.Account.config.WalletProperties;
+import com.BankingSystem.Account.dto.WalletOperationRequest;
+import com.BankingSystem.Account.exception.ServiceBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-JVM lock striped by wallet ID, taken before retry and transaction advice.
+ *
+ * Without it, every request for a hot wallet borrows a Hikari connection and then
+ * waits on the Postgres row lock, so a hundred callers on one wallet drain the pool
+ * and stall unrelated wallets. With it they queue here and only the stripe holder
+ * uses a connection. Callers that cannot get the stripe within max-wait get a 503.
+ * Pool occupancy itself is published by Hikari as hikaricp.connections.active/pending.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+@Slf4j
+public class WalletStripedLock {
+    
+    private final WalletProperties walletProperties;
+    private final ReentrantLock[] stripes;
+    private final int mask;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final Counter uncontended;
+    private final Counter contended;
+    private final Counter rejections;
+    private final Timer waitTimer;
+    
+    public WalletStripedLock(WalletProperties walletProperties, MeterRegistry meterRegistry) {
+        this.walletProperties = walletProperties;
+        int requested = walletProperties.getLockStriping().getStripes();
+        int size = requested <= 1 ? 1 : Integer.highestOneBit(requested - 1) << 1;
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock(true);
+        }
+        this.mask = size - 1;
+        
+        this.uncontended = Counter.builder("wallet.stripe.acquisitions")
+            .description("Stripe lock acquisitions")
+            .tag("contended", "false")
+            .register(meterRegistry);
+        this.contended = Counter.builder("wallet.stripe.acquisitions")
+            .description("Stripe lock acquisitions")
+            .tag("contended", "true")
+            .register(meterRegistry);
+        this.rejections = Counter.builder("wallet.stripe.rejections")
+            .description("Operations rejected because their stripe stayed locked past max-wait")
+            .register(meterRegistry);
+        this.waitTimer = Timer.builder("wallet.stripe.wait")
+            .description("Time contended operations queued for their stripe")
+            .register(meterRegistry);
+        Gauge.builder("wallet.stripe.waiting", waiting, AtomicInteger::get)
+            .description("Operations currently queued on a stripe")
+            .register(meterRegistry);
+    }
+    
+    // Both overloads, with and without an idempotency key
+    static final String OPERATIONS =
+        "execution(public * com.BankingSystem.Account.service.WalletService.processOperation(..)) && args(request, ..)";
+    
+    @Around(OPERATIONS)
+    public Object lockOperation(ProceedingJoinPoint joinPoint, WalletOperationRequest request) throws Throwable {
+        return withStripe(joinPoint, request.getValletId());
+    }
+    
+    @Around("execution(public * com.BankingSystem.Account.service.WalletService.processBatch(..)) && args(walletId, ..)")
+    public Object lockBatch(ProceedingJoinPoint joinPoint, UUID walletId) throws Throwable {
+        return withStripe(joinPoint, walletId);
+    }
+    
+    private Object withStripe(ProceedingJoinPoint joinPoint, UUID walletId) throws Throwable {
+        WalletProperties.LockStriping lockStriping = walletProperties.getLockStriping();
+        if (!lockStriping.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        
+        ReentrantLock lock = stripeFor(walletId);
+        if (lock.tryLock()) {
+            uncontended.increment();
+        } else {
+            acquireContended(lock, walletId, lockStriping.getMaxWait().toNanos());
+        }
+        try {
+            return joinPoint.proceed();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    private void acquireContended(ReentrantLock lock, UUID walletId, long maxWaitNanos) throws InterruptedException {
+        contended.increment();
+        waiting.incrementAndGet();
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = lock.tryLock(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } finally {
+            waiting.decrementAndGet();
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        if (!acquired) {
+            rejections.increment();
+            log.warn("Wallet {} is busy, rejecting operation", walletId);
+            throw new ServiceBusyException("Too many concurrent operations on wallet " + walletId + ", retry later");
+        }
+    }
+    
+    ReentrantLock stripeFor(UUID walletId) {
+        int hash = walletId.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & mask];
+    }
+}
@@ -0,0 +1,58 @@
+package com.BankingSystem.Account.config;
+
+import com.BankingSystem.Account.dto.WalletOperationRequest;
+import com.BankingSystem.Account.dto.WalletResponse;
+import com.BankingSystem.Account.entity.Wallet;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import liquibase.change.core.CreateTableChange;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.retry.annotation.Retryable;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NativeHintsConfigTest {
+    
+    @Test
+    void testRegistersHints() {
+        // Given
+        RuntimeHints hints = new RuntimeHints();
+        
+        // When
+        new NativeHintsConfig.WalletRuntimeHints().registerHints(hints, getClass().getClassLoader());
+        
+        // Then
+        assertTrue(RuntimeHintsPredicates.reflection().onType(Wallet.class)
+            .withMemberCategories(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.DECLARED_FIELDS)
+            .test(hints));
+        assertTrue(RuntimeHintsPredicates.proxies().forInterfaces(Retryable.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.proxies().forInterfaces(Backoff.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(CreateTableChange.class)
+            .withMemberCategory(MemberCategory.INVOKE_PUBLIC_METHODS).test(hints));
+        assertTrue(RuntimeHintsPredicates.resource()
+            .forResource("www.liquibase.org/xml/ns/dbchangelog/dbchangelog-4.20.xsd").test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(WalletOperationRequest.class, "setValletId").test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(WalletResponse.class, "getBalance").test(hints));
+    }
+    
+    @Test
+    void testCaffeineHintsMatchTheDefaultCacheSpec() {
+        // Given
+        RuntimeHints hints = new RuntimeHints();
+        new NativeHintsConfig.WalletRuntimeHints().registerHints(hints, getClass().getClassLoader());
+        
+        // When: asMap() is the generated cache class itself
+        Class<?> cacheClass = Caffeine.from("maximumSize=100000,expireAfterWrite=5s,recordStats")
+            .build().asMap().getClass();
+        
+        // Then
+        assertEquals(NativeHintsConfig.WalletRuntimeHints.CAFFEINE_CLASSES.get(0), cacheClass.getName());
+        assertTrue(RuntimeHintsPredicates.reflection().onType(TypeReference.of(cacheClass))
+            .withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS).test(hints));
+    }
+}
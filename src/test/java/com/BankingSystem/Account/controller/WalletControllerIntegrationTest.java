@@ -2,6 +2,9 @@ package com.BankingSystem.Account.controller;
 
 import com.BankingSystem.Account.entity.Wallet;
 import com.BankingSystem.Account.repository.WalletRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,14 +14,20 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
 import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.Map;
 import java.util.UUID;
 
 import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -58,6 +67,16 @@ public class WalletControllerIntegrationTest {
         walletRepository.save(wallet);
     }
 
+    /**
+     * POST /wallet answers with a future, so its result arrives on an async dispatch
+     */
+    private ResultActions performOperation(MockHttpServletRequestBuilder builder) throws Exception {
+        MvcResult started = mockMvc.perform(builder)
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        return mockMvc.perform(asyncDispatch(started));
+    }
+
     private String json(UUID id, String type, String amount) {
         return String.format(
             "{\"valletId\":\"%s\",\"operationType\":\"%s\",\"amount\":%s}",
@@ -67,7 +86,7 @@ public class WalletControllerIntegrationTest {
 
     @Test
     void testDeposit_Success() throws Exception {
-        mockMvc.perform(post("/api/v1/wallet")
+        performOperation(post("/api/v1/wallet")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(json(testWalletId, "DEPOSIT", "500.00")))
             .andExpect(status().isOk())
@@ -77,7 +96,7 @@ public class WalletControllerIntegrationTest {
 
     @Test
     void testWithdraw_Success() throws Exception {
-        mockMvc.perform(post("/api/v1/wallet")
+        performOperation(post("/api/v1/wallet")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(json(testWalletId, "WITHDRAW", "300.00")))
             .andExpect(status().isOk())
@@ -91,7 +110,12 @@ public class WalletControllerIntegrationTest {
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(json(testWalletId, "WITHDRAW", "9999.00")))
             .andExpect(status().isBadRequest())
-            .andExpect(jsonPath("$.message").exists());
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+            .andExpect(jsonPath("$.status", is(400)))
+            .andExpect(jsonPath("$.error", is("Bad Request")))
+            .andExpect(jsonPath("$.message", is("Insufficient funds")))
+            .andExpect(jsonPath("$.path", is("/api/v1/wallet")))
+            .andExpect(jsonPath("$.timestamp").exists());
     }
 
     @Test
@@ -112,8 +136,11 @@ public class WalletControllerIntegrationTest {
 
     @Test
     void testGetBalance_NotFound() throws Exception {
-        mockMvc.perform(get("/api/v1/wallets/{walletId}", UUID.randomUUID()))
-            .andExpect(status().isNotFound());
+        UUID unknownWalletId = UUID.randomUUID();
+        mockMvc.perform(get("/api/v1/wallets/{walletId}", unknownWalletId))
+            .andExpect(status().isNotFound())
+            .andExpect(jsonPath("$.message", is("Wallet not found with ID: " + unknownWalletId)))
+            .andExpect(jsonPath("$.path", is("/api/v1/wallets/" + unknownWalletId)));
     }
 
     @Test
@@ -140,4 +167,124 @@ public class WalletControllerIntegrationTest {
         mockMvc.perform(get("/api/v1/wallets/{walletId}", "not-a-uuid"))
             .andExpect(status().isBadRequest());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testCreateWallet_Conflict() throws Exception {
+        UUID walletId = UUID.randomUUID();
+        mockMvc.perform(post("/api/v1/wallets")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("\"" + walletId + "\""))
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$.balance").value(0));
+
+        mockMvc.perform(post("/api/v1/wallets")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("\"" + walletId + "\""))
+            .andExpect(status().isConflict());
+    }
+
+    @Test
+    void testCreateWallets_Bulk() throws Exception {
+        UUID newWalletId = UUID.randomUUID();
+        String body = String.format("{\"walletIds\":[\"%s\",\"%s\",\"%s\"]}",
+            newWalletId, testWalletId, newWalletId);
+
+        mockMvc.perform(post("/api/v1/wallets/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$.created[0]").value(newWalletId.toString()))
+            .andExpect(jsonPath("$.created.length()").value(1))
+            .andExpect(jsonPath("$.existing[0]").value(testWalletId.toString()));
+
+        mockMvc.perform(get("/api/v1/wallets/{walletId}", newWalletId))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.balance").value(0));
+    }
+
+    @Test
+    void testDeposit_IdempotencyKey() throws Exception {
+        String key = UUID.randomUUID().toString();
+        for (int attempt = 0; attempt < 2; attempt++) {
+            performOperation(post("/api/v1/wallet")
+                    .header("Idempotency-Key", key)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(json(testWalletId, "DEPOSIT", "500.00")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.balance", is(1500.00)));
+        }
+
+        // Same key, different amount
+        mockMvc.perform(post("/api/v1/wallet")
+                .header("Idempotency-Key", key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(testWalletId, "DEPOSIT", "600.00")))
+            .andExpect(status().isConflict());
+
+        mockMvc.perform(get("/api/v1/wallets/{walletId}", testWalletId))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.balance", is(1500.00)));
+    }
+
+    @Test
+    void testDeposit_Cbor() throws Exception {
+        ObjectMapper cbor = new ObjectMapper(new CBORFactory());
+        byte[] request = cbor.writeValueAsBytes(Map.of(
+            "valletId", bytes(testWalletId),
+            "operationType", "DEPOSIT",
+            "amount", 50000));
+
+        byte[] response = performOperation(post("/api/v1/wallet")
+                .contentType(MediaType.APPLICATION_CBOR)
+                .accept(MediaType.APPLICATION_CBOR)
+                .content(request))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+            .andReturn().getResponse().getContentAsByteArray();
+
+        // UUID as 16 raw bytes, balance as minor units
+        JsonNode body = cbor.readTree(response);
+        assertArrayEquals(bytes(testWalletId), body.get("walletId").binaryValue());
+        assertTrue(body.get("balance").isIntegralNumber());
+        assertEquals(150000L, body.get("balance").longValue());
+
+        mockMvc.perform(get("/api/v1/wallets/{walletId}", testWalletId))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.balance", is(1500.00)));
+    }
+
+    @Test
+    void testErrors_CborRequestsGetJson() throws Exception {
+        ObjectMapper cbor = new ObjectMapper(new CBORFactory());
+        UUID unknownWalletId = UUID.randomUUID();
+        byte[] deposit = cbor.writeValueAsBytes(Map.of(
+            "valletId", bytes(unknownWalletId),
+            "operationType", "DEPOSIT",
+            "amount", 100));
+
+        mockMvc.perform(post("/api/v1/wallet")
+                .contentType(MediaType.APPLICATION_CBOR)
+                .accept(MediaType.APPLICATION_CBOR)
+                .content(deposit))
+            .andExpect(status().isNotFound())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+            .andExpect(jsonPath("$.status", is(404)))
+            .andExpect(jsonPath("$.message", is("Wallet not found with ID: " + unknownWalletId)));
+
+        mockMvc.perform(post("/api/v1/wallets")
+                .contentType(MediaType.APPLICATION_CBOR)
+                .accept(MediaType.APPLICATION_CBOR)
+                .content(cbor.writeValueAsBytes(bytes(testWalletId))))
+            .andExpect(status().isConflict())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+            .andExpect(jsonPath("$.status", is(409)))
+            .andExpect(jsonPath("$.error", is("Conflict")));
+    }
+
+    private static byte[] bytes(UUID id) {
+        return ByteBuffer.allocate(16)
+            .putLong(id.getMostSignificantBits())
+            .putLong(id.getLeastSignificantBits())
+            .array();
+    }
+}
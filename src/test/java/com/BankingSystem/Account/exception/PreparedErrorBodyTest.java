@@ -0,0 +1,52 @@
+package com.BankingSystem.Account.exception;
+
+import com.BankingSystem.Account.dto.ErrorResponse;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PreparedErrorBodyTest {
+    
+    // Configured as Spring Boot configures the application's mapper
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+        .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .build();
+    
+    @Test
+    void testRendersWhatJacksonWritesForErrorResponse() throws Exception {
+        // Given
+        PreparedErrorBody notFound = new PreparedErrorBody(HttpStatus.NOT_FOUND, "Not Found");
+        WalletNotFoundException ex = new WalletNotFoundException(UUID.randomUUID());
+        String path = "/api/v1/wallets/\"odd\\path\"";
+        
+        // When
+        ResponseEntity<byte[]> response = notFound.response(ex.getMessage(), path);
+        
+        // Then
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        JsonNode prepared = objectMapper.readTree(response.getBody());
+        ErrorResponse parsed = objectMapper.treeToValue(prepared, ErrorResponse.class);
+        JsonNode expected = objectMapper.valueToTree(
+            new ErrorResponse(parsed.getTimestamp(), 404, "Not Found", ex.getMessage(), path));
+        assertEquals(expected, prepared);
+        assertFalse(parsed.getTimestamp().isAfter(LocalDateTime.now()));
+    }
+    
+    @Test
+    void testBusinessExceptionsCaptureNoStackTrace() {
+        assertEquals(0, new InsufficientFundsException().getStackTrace().length);
+        assertEquals(0, new WalletNotFoundException(UUID.randomUUID()).getStackTrace().length);
+        assertEquals(0, new ServiceBusyException("busy").getStackTrace().length);
+    }
+}
@@ -0,0 +1,135 @@
+package com.BankingSystem.Account.load;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * HTTP load generator against a running instance, used to compare deployment modes
+ * (platform vs virtual threads, logging profiles, ...). Skipped unless a target is given:
+ *
+ *   mvn test -Dtest=WalletLoadTest -Dwallet.load.url=http://localhost:8080
+ *       [-Dwallet.load.requests=20000] [-Dwallet.load.concurrency=400] [-Dwallet.load.wallets=10]
+ *       [-Dwallet.load.rejected-ratio=0.3]
+ *
+ * Prints throughput and p50/p95/p99 latency of POST /api/v1/wallet deposits. With a rejected
+ * ratio, that share of the requests are instead withdrawals from empty wallets, each answered
+ * with 400 Insufficient funds.
+ */
+@EnabledIfSystemProperty(named = "wallet.load.url", matches = ".+")
+class WalletLoadTest {
+    
+    private final String baseUrl = System.getProperty("wallet.load.url");
+    private final int requestCount = Integer.getInteger("wallet.load.requests", 20_000);
+    private final int concurrency = Integer.getInteger("wallet.load.concurrency", 400);
+    private final int walletCount = Integer.getInteger("wallet.load.wallets", 10);
+    private final double rejectedRatio = Double.parseDouble(System.getProperty("wallet.load.rejected-ratio", "0"));
+    
+    private HttpClient client;
+    private List<UUID> walletIds;
+    private List<UUID> emptyWalletIds;
+    
+    @BeforeEach
+    void setUp() throws Exception {
+        client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(Executors.newFixedThreadPool(16))
+            .build();
+        walletIds = createWallets();
+        emptyWalletIds = createWallets();
+    }
+    
+    @Test
+    void testDepositLoad() throws InterruptedException {
+        long[] latencies = new long[requestCount];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger failures = new AtomicInteger();
+        AtomicInteger rejections = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        CountDownLatch done = new CountDownLatch(concurrency);
+        
+        long start = System.nanoTime();
+        for (int w = 0; w < concurrency; w++) {
+            workers.submit(() -> {
+                try {
+                    int i;
+                    while ((i = next.getAndIncrement()) < requestCount) {
+                        // Spread evenly: request i is rejected when the running share falls behind
+                        boolean rejected = (int) ((i + 1) * rejectedRatio) > (int) (i * rejectedRatio);
+                        String body = rejected
+                            ? String.format("{\"valletId\":\"%s\",\"operationType\":\"WITHDRAW\",\"amount\":1.00}",
+                                emptyWalletIds.get(i % emptyWalletIds.size()))
+                            : String.format("{\"valletId\":\"%s\",\"operationType\":\"DEPOSIT\",\"amount\":1.00}",
+                                walletIds.get(i % walletIds.size()));
+                        long sent = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(post("/api/v1/wallet", body),
+                                HttpResponse.BodyHandlers.discarding());
+                            if (rejected && response.statusCode() == 400) {
+                                rejections.incrementAndGet();
+                            } else if (rejected || response.statusCode() != 200) {
+                                failures.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            failures.incrementAndGet();
+                        }
+                        latencies[i] = System.nanoTime() - sent;
+                    }
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        
+        assertTrue(done.await(30, TimeUnit.MINUTES));
+        long elapsed = System.nanoTime() - start;
+        workers.shutdown();
+        
+        Arrays.sort(latencies);
+        System.out.printf("%d requests, concurrency %d, %d wallets: %.1f req/sec, %d rejected, %d failed%n",
+            requestCount, concurrency, walletCount, requestCount * 1_000_000_000.0 / elapsed,
+            rejections.get(), failures.get());
+        System.out.printf("latency p50=%.1fms p95=%.1fms p99=%.1fms max=%.1fms%n",
+            percentile(latencies, 0.50), percentile(latencies, 0.95),
+            percentile(latencies, 0.99), latencies[latencies.length - 1] / 1_000_000.0);
+    }
+    
+    private List<UUID> createWallets() throws Exception {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < walletCount; i++) {
+            UUID walletId = UUID.randomUUID();
+            HttpResponse<String> response = client.send(post("/api/v1/wallets", "\"" + walletId + "\""),
+                HttpResponse.BodyHandlers.ofString());
+            assertEquals(201, response.statusCode(), response.body());
+            ids.add(walletId);
+        }
+        return ids;
+    }
+    
+    private HttpRequest post(String path, String body) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+            .timeout(Duration.ofSeconds(60))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(body))
+            .build();
+    }
+    
+    private static double percentile(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,206 @@
+package com.BankingSystem.Account.load;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.*;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Load generator for the wallets table itself, used to compare table layouts (plain vs hash
+ * partitioned, fillfactor) at a realistic size. Skipped unless a database is given:
+ *
+ *   mvn test -Dtest=WalletTableLoadTest -Dwallet.load.jdbc-url=jdbc:postgresql://localhost:5432/wallet_db
+ *       [-Dwallet.load.username=postgres] [-Dwallet.load.password=postgres]
+ *       [-Dwallet.load.rows=10000000] [-Dwallet.load.updates=100000] [-Dwallet.load.concurrency=8]
+ *
+ * Tops the table up to the given number of wallets (IDs md5(n)::uuid, so reruns and the
+ * update load find them without keeping them in memory), then sends balance updates, the
+ * statement the conditional-update write path runs, to random wallets. Prints table and
+ * index sizes, the share of HOT updates, and update throughput and p50/p95/p99 latency.
+ */
+@EnabledIfSystemProperty(named = "wallet.load.jdbc-url", matches = ".+")
+class WalletTableLoadTest {
+    
+    private static final int SEED_CHUNK = 500_000;
+    
+    private static final String SEED = """
+        INSERT INTO wallets (id, balance_minor)
+        SELECT md5(n::text)::uuid, 100000 FROM generate_series(?, ?) n
+        ON CONFLICT (id) DO NOTHING
+        """;
+    
+    private static final String UPDATE = """
+        UPDATE wallets
+        SET balance_minor = balance_minor + ?, version = version + 1, updated_at = CURRENT_TIMESTAMP
+        WHERE id = ? AND balance_minor + ? >= 0
+        RETURNING balance_minor
+        """;
+    
+    // The leaf tables: the partitions, or wallets itself when it is not partitioned
+    private static final String LEAVES = """
+        SELECT oid AS relid FROM pg_class WHERE oid = 'wallets'::regclass AND relkind = 'r'
+        UNION ALL
+        SELECT relid FROM pg_partition_tree('wallets') WHERE isleaf
+        """;
+    
+    private final String jdbcUrl = System.getProperty("wallet.load.jdbc-url");
+    private final String username = System.getProperty("wallet.load.username", "postgres");
+    private final String password = System.getProperty("wallet.load.password", "postgres");
+    private final long rows = Long.getLong("wallet.load.rows", 10_000_000L);
+    private final int updateCount = Integer.getInteger("wallet.load.updates", 100_000);
+    private final int concurrency = Integer.getInteger("wallet.load.concurrency", 8);
+    
+    @BeforeEach
+    void setUp() throws SQLException {
+        try (Connection connection = connect(); PreparedStatement seed = connection.prepareStatement(SEED)) {
+            long start = System.nanoTime();
+            long seeded = 0;
+            for (long from = 0; from < rows; from += SEED_CHUNK) {
+                long to = Math.min(from + SEED_CHUNK, rows) - 1;
+                // The last ID of a chunk exists once the chunk has been seeded
+                if (exists(connection, to)) {
+                    continue;
+                }
+                seed.setLong(1, from);
+                seed.setLong(2, to);
+                seeded += seed.executeUpdate();
+            }
+            if (seeded > 0) {
+                System.out.printf("Seeded %d wallets in %.1f s%n", seeded, (System.nanoTime() - start) / 1e9);
+            }
+        }
+    }
+    
+    @Test
+    void testUpdateLoad() throws Exception {
+        long[] before = hotStats();
+        
+        long[] latencies = new long[updateCount];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger failures = new AtomicInteger();
+        AtomicReference<String> lastError = new AtomicReference<>();
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        CountDownLatch done = new CountDownLatch(concurrency);
+        
+        long start = System.nanoTime();
+        for (int w = 0; w < concurrency; w++) {
+            workers.submit(() -> {
+                try (Connection connection = connect(); PreparedStatement update = connection.prepareStatement(UPDATE)) {
+                    int i;
+                    while ((i = next.getAndIncrement()) < updateCount) {
+                        update.setLong(1, 1);
+                        update.setObject(2, walletId(ThreadLocalRandom.current().nextLong(rows)));
+                        update.setLong(3, 1);
+                        long sent = System.nanoTime();
+                        try (ResultSet result = update.executeQuery()) {
+                            if (!result.next()) {
+                                failures.incrementAndGet();
+                            }
+                        } catch (SQLException e) {
+                            failures.incrementAndGet();
+                            lastError.set(e.getMessage());
+                        }
+                        latencies[i] = System.nanoTime() - sent;
+                    }
+                } catch (SQLException e) {
+                    lastError.set(e.getMessage());
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        
+        assertTrue(done.await(30, TimeUnit.MINUTES));
+        long elapsed = System.nanoTime() - start;
+        workers.shutdown();
+        
+        // Backends report their statistics when they go idle or exit; give the workers a moment
+        Thread.sleep(1_000);
+        long[] after = hotStats();
+        long updated = after[0] - before[0];
+        long hot = after[1] - before[1];
+        
+        try (Connection connection = connect(); Statement statement = connection.createStatement();
+             ResultSet sizes = statement.executeQuery("""
+                 SELECT count(*), sum(pg_relation_size(relid)), sum(pg_indexes_size(relid)),
+                        max(pg_indexes_size(relid)), sum(c.reltuples)::bigint
+                 FROM (%s) leaves JOIN pg_class c ON c.oid = relid
+                 """.formatted(LEAVES))) {
+            sizes.next();
+            int tables = sizes.getInt(1);
+            System.out.printf("wallets: %s, ~%d rows, heap %d MB, indexes %d MB (largest %d MB)%n",
+                tables == 1 ? "not partitioned" : tables + " partitions", sizes.getLong(5),
+                sizes.getLong(2) >> 20, sizes.getLong(3) >> 20, sizes.getLong(4) >> 20);
+        }
+        
+        Arrays.sort(latencies);
+        System.out.printf("%d updates, concurrency %d: %.1f updates/sec, %d failed%s%n",
+            updateCount, concurrency, updateCount * 1_000_000_000.0 / elapsed, failures.get(),
+            lastError.get() == null ? "" : " (" + lastError.get() + ")");
+        System.out.printf("HOT updates %.1f%% (%d of %d)%n", updated == 0 ? 0 : hot * 100.0 / updated, hot, updated);
+        System.out.printf("latency p50=%.2fms p95=%.2fms p99=%.2fms max=%.2fms%n",
+            percentile(latencies, 0.50), percentile(latencies, 0.95),
+            percentile(latencies, 0.99), latencies[latencies.length - 1] / 1_000_000.0);
+    }
+    
+    private Connection connect() throws SQLException {
+        return DriverManager.getConnection(jdbcUrl, username, password);
+    }
+    
+    private static boolean exists(Connection connection, long n) throws SQLException {
+        try (PreparedStatement query = connection.prepareStatement("SELECT 1 FROM wallets WHERE id = ?")) {
+            query.setObject(1, walletId(n));
+            try (ResultSet result = query.executeQuery()) {
+                return result.next();
+            }
+        }
+    }
+    
+    /**
+     * Updates and HOT updates so far, across the leaf tables
+     */
+    private long[] hotStats() throws SQLException {
+        try (Connection connection = connect(); Statement statement = connection.createStatement();
+             ResultSet stats = statement.executeQuery("""
+                 SELECT coalesce(sum(n_tup_upd), 0), coalesce(sum(n_tup_hot_upd), 0)
+                 FROM pg_stat_user_tables WHERE relid IN (%s)
+                 """.formatted(LEAVES))) {
+            stats.next();
+            return new long[] {stats.getLong(1), stats.getLong(2)};
+        }
+    }
+    
+    /**
+     * The same ID as md5(n::text)::uuid in the seed statement
+     */
+    static UUID walletId(long n) {
+        try {
+            byte[] md5 = MessageDigest.getInstance("MD5").digest(Long.toString(n).getBytes(StandardCharsets.US_ASCII));
+            ByteBuffer bytes = ByteBuffer.wrap(md5);
+            return new UUID(bytes.getLong(), bytes.getLong());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+    
+    private static double percentile(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+}
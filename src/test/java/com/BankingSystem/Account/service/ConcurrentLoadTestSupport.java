@@ -0,0 +1,77 @@
+package com.BankingSystem.Account.service;
+
+import com.BankingSystem.Account.TestcontainersConfiguration;
+import com.BankingSystem.Account.entity.Wallet;
+import com.BankingSystem.Account.repository.WalletRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Base for the tests that check a write path under concurrent load. The Postgres container
+ * comes from {@link TestcontainersConfiguration}; a subclass that needs extra properties adds
+ * its own {@code @DynamicPropertySource}. Throughput is measured by the JMH benchmarks, not here.
+ */
+@SpringBootTest
+@Import(TestcontainersConfiguration.class)
+abstract class ConcurrentLoadTestSupport {
+    
+    @Autowired
+    protected WalletRepository walletRepository;
+    
+    /**
+     * Replace every wallet with {@code count} new empty ones
+     */
+    protected List<UUID> createWallets(int count) {
+        walletRepository.deleteAll();
+        List<UUID> walletIds = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            UUID walletId = UUID.randomUUID();
+            walletRepository.save(new Wallet(walletId));
+            walletIds.add(walletId);
+        }
+        return walletIds;
+    }
+    
+    /**
+     * Run {@code operation} for 0..count-1 on a pool of {@code threads}; fails the test if any
+     * call throws or the calls do not all finish within two minutes
+     */
+    protected static void runConcurrently(int threads, int count, IntConsumer operation) throws InterruptedException {
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        CountDownLatch latch = new CountDownLatch(count);
+        AtomicInteger errors = new AtomicInteger(0);
+        AtomicReference<Exception> lastError = new AtomicReference<>();
+        
+        for (int i = 0; i < count; i++) {
+            int index = i;
+            executorService.submit(() -> {
+                try {
+                    operation.accept(index);
+                } catch (Exception e) {
+                    errors.incrementAndGet();
+                    lastError.set(e);
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        
+        assertTrue(latch.await(120, TimeUnit.SECONDS));
+        executorService.shutdown();
+        assertEquals(0, errors.get(), () -> errors.get() + " calls failed, last with " + lastError.get());
+    }
+}
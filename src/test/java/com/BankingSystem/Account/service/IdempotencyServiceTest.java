@@ -0,0 +1,224 @@
+package com.BankingSystem.Account.service;
+
+import com.BankingSystem.Account.config.WalletProperties;
+import com.BankingSystem.Account.dto.WalletOperationRequest;
+import com.BankingSystem.Account.dto.WalletResponse;
+import com.BankingSystem.Account.entity.IdempotencyRecord;
+import com.BankingSystem.Account.exception.IdempotencyConflictException;
+import com.BankingSystem.Account.exception.InsufficientFundsException;
+import com.BankingSystem.Account.exception.ServiceBusyException;
+import com.BankingSystem.Account.repository.IdempotencyRecordRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceTest {
+    
+    @Mock
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+    
+    private SimpleMeterRegistry meterRegistry;
+    private IdempotencyService idempotencyService;
+    
+    private UUID testWalletId;
+    private WalletOperationRequest request;
+    private String fingerprint;
+    
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        idempotencyService = new IdempotencyService(idempotencyRecordRepository, new WalletProperties(), meterRegistry);
+        testWalletId = UUID.randomUUID();
+        request = new WalletOperationRequest(
+            testWalletId,
+            WalletOperationRequest.OperationType.DEPOSIT,
+            new BigDecimal("100.00")
+        );
+        fingerprint = IdempotencyService.fingerprint(request);
+    }
+    
+    @Test
+    void testExecute_ReplayServedFromCache() {
+        // Given
+        AtomicInteger executions = new AtomicInteger();
+        when(idempotencyRecordRepository.reserve("key-1", testWalletId, fingerprint)).thenReturn(1);
+        
+        // When
+        WalletResponse first = idempotencyService.execute("key-1", request, () -> {
+            executions.incrementAndGet();
+            return new WalletResponse(testWalletId, new BigDecimal("1100.00"));
+        });
+        WalletResponse replay = idempotencyService.execute("key-1", request, () -> {
+            executions.incrementAndGet();
+            return new WalletResponse(testWalletId, new BigDecimal("1200.00"));
+        });
+        
+        // Then
+        assertEquals(1, executions.get());
+        assertEquals(first, replay);
+        verify(idempotencyRecordRepository, times(1)).reserve(any(), any(), any());
+        verify(idempotencyRecordRepository).complete("key-1", new BigDecimal("1100.00"));
+        assertEquals(1, meterRegistry.get("wallet.idempotency.lookup").tag("result", "cache_hit").timer().count());
+    }
+    
+    @Test
+    void testExecute_ReplayServedFromStore() {
+        // Given
+        IdempotencyRecord record = new IdempotencyRecord();
+        record.setKey("key-2");
+        record.setWalletId(testWalletId);
+        record.setRequestFingerprint(fingerprint);
+        record.setBalance(new BigDecimal("1100.00"));
+        when(idempotencyRecordRepository.reserve("key-2", testWalletId, fingerprint)).thenReturn(0);
+        when(idempotencyRecordRepository.findById("key-2")).thenReturn(Optional.of(record));
+        
+        // When
+        WalletResponse response = idempotencyService.execute("key-2", request, () -> {
+            throw new AssertionError("operation must not run for a replay");
+        });
+        
+        // Then
+        assertEquals(new BigDecimal("1100.00"), response.getBalance());
+        verify(idempotencyRecordRepository, never()).complete(any(), any());
+    }
+    
+    @Test
+    void testExecute_DuplicateStillInFlight() {
+        // Given
+        IdempotencyRecord record = new IdempotencyRecord();
+        record.setKey("key-3");
+        record.setWalletId(testWalletId);
+        record.setRequestFingerprint(fingerprint);
+        when(idempotencyRecordRepository.reserve("key-3", testWalletId, fingerprint)).thenReturn(0);
+        when(idempotencyRecordRepository.findById("key-3")).thenReturn(Optional.of(record));
+        when(idempotencyRecordRepository.takeOver(eq("key-3"), anyLong())).thenReturn(0);
+        
+        // When & Then
+        assertThrows(IdempotencyConflictException.class, () ->
+            idempotencyService.execute("key-3", request, () -> new WalletResponse(testWalletId, BigDecimal.ONE)));
+    }
+    
+    @Test
+    void testExecute_StalePendingKeyTakenOver() {
+        // Given
+        IdempotencyRecord record = new IdempotencyRecord();
+        record.setKey("key-5");
+        record.setWalletId(testWalletId);
+        record.setRequestFingerprint(fingerprint);
+        when(idempotencyRecordRepository.reserve("key-5", testWalletId, fingerprint)).thenReturn(0);
+        when(idempotencyRecordRepository.findById("key-5")).thenReturn(Optional.of(record));
+        when(idempotencyRecordRepository.takeOver("key-5", 60)).thenReturn(1);
+        
+        // When
+        WalletResponse response = idempotencyService.executeInTransaction("key-5", request,
+            () -> new WalletResponse(testWalletId, new BigDecimal("1100.00")));
+        
+        // Then
+        assertEquals(new BigDecimal("1100.00"), response.getBalance());
+        // The transactional operation completes the key itself
+        verify(idempotencyRecordRepository, never()).complete(any(), any());
+    }
+    
+    @Test
+    void testExecute_KeyReusedForDifferentRequest() {
+        // Given
+        IdempotencyRecord record = new IdempotencyRecord();
+        record.setKey("key-6");
+        record.setWalletId(testWalletId);
+        record.setRequestFingerprint(fingerprint);
+        record.setBalance(new BigDecimal("1100.00"));
+        WalletOperationRequest withdrawal = new WalletOperationRequest(
+            testWalletId, WalletOperationRequest.OperationType.WITHDRAW, new BigDecimal("100.00"));
+        when(idempotencyRecordRepository.reserve(eq("key-6"), eq(testWalletId), any())).thenReturn(0);
+        when(idempotencyRecordRepository.findById("key-6")).thenReturn(Optional.of(record));
+        
+        // When & Then
+        assertThrows(IdempotencyConflictException.class, () ->
+            idempotencyService.execute("key-6", withdrawal, () -> {
+                throw new AssertionError("operation must not run for a reused key");
+            }));
+    }
+    
+    @Test
+    void testExecute_FailedOperationReleasesKey() {
+        // Given
+        when(idempotencyRecordRepository.reserve("key-4", testWalletId, fingerprint)).thenReturn(1);
+        
+        // When & Then
+        assertThrows(InsufficientFundsException.class, () ->
+            idempotencyService.execute("key-4", request, () -> {
+                throw new InsufficientFundsException("Insufficient funds");
+            }));
+        verify(idempotencyRecordRepository).deletePending("key-4");
+        verify(idempotencyRecordRepository, never()).complete(eq("key-4"), any());
+    }
+    
+    @Test
+    void testExecute_UnexpectedFailureKeepsKeyPending() {
+        // Given
+        when(idempotencyRecordRepository.reserve("key-7", testWalletId, fingerprint)).thenReturn(1);
+        
+        // When & Then: the deposit may already be journaled, so the key is not released
+        assertThrows(IllegalStateException.class, () ->
+            idempotencyService.execute("key-7", request, () -> {
+                throw new IllegalStateException("Journal flush failed");
+            }));
+        verify(idempotencyRecordRepository, never()).deletePending(any());
+        verify(idempotencyRecordRepository, never()).complete(eq("key-7"), any());
+    }
+    
+    @Test
+    void testExecuteAsync_CompletionRecordedOnExecutor() {
+        // Given
+        CompletableFuture<WalletResponse> shard = new CompletableFuture<>();
+        List<Runnable> executor = new ArrayList<>();
+        when(idempotencyRecordRepository.reserve("key-8", testWalletId, fingerprint)).thenReturn(1);
+        
+        // When
+        CompletableFuture<WalletResponse> response =
+            idempotencyService.executeAsync("key-8", request, () -> shard, executor::add);
+        shard.complete(new WalletResponse(testWalletId, new BigDecimal("1100.00")));
+        
+        // Then: nothing is written on the thread that completed the shard's future
+        verify(idempotencyRecordRepository, never()).complete(any(), any());
+        assertFalse(response.isDone());
+        executor.forEach(Runnable::run);
+        assertEquals(new BigDecimal("1100.00"), response.join().getBalance());
+        verify(idempotencyRecordRepository).complete("key-8", new BigDecimal("1100.00"));
+    }
+    
+    @Test
+    void testExecuteAsync_RejectedOperationReleasesKey() {
+        // Given
+        when(idempotencyRecordRepository.reserve("key-9", testWalletId, fingerprint)).thenReturn(1);
+        
+        // When
+        CompletableFuture<WalletResponse> response = idempotencyService.executeAsync("key-9", request,
+            () -> CompletableFuture.failedFuture(new ServiceBusyException("Shard busy")), Runnable::run);
+        
+        // Then
+        CompletionException failure = assertThrows(CompletionException.class, response::join);
+        assertInstanceOf(ServiceBusyException.class, failure.getCause());
+        verify(idempotencyRecordRepository).deletePending("key-9");
+        verify(idempotencyRecordRepository, never()).complete(eq("key-9"), any());
+    }
+}
@@ -0,0 +1,112 @@
+package com.BankingSystem.Account.service;
+
+import com.BankingSystem.Account.config.CacheConfig;
+import com.BankingSystem.Account.dto.TransferRequest;
+import com.BankingSystem.Account.dto.WalletOperationRequest;
+import com.BankingSystem.Account.entity.Wallet;
+import com.BankingSystem.Account.repository.WalletRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Testcontainers
+class WalletBalanceCacheTest {
+    
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15")
+        .withDatabaseName("wallet_test_db")
+        .withUsername("test")
+        .withPassword("test");
+    
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.cache.caffeine.spec", () -> "maximumSize=1000,expireAfterWrite=60s,recordStats");
+    }
+    
+    @Autowired
+    private WalletService walletService;
+    
+    @Autowired
+    private WalletBatchService walletBatchService;
+    
+    @Autowired
+    private WalletRepository walletRepository;
+    
+    @Autowired
+    private CacheManager cacheManager;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    private UUID testWalletId;
+    
+    @BeforeEach
+    void setUp() {
+        walletRepository.deleteAll();
+        cacheManager.getCache(CacheConfig.WALLET_BALANCES).clear();
+        testWalletId = UUID.randomUUID();
+        walletService.createWallet(testWalletId);
+    }
+    
+    @Test
+    void testRepeatedReadsAreServedFromCache() {
+        walletService.getWalletBalance(testWalletId);
+        
+        // A write that bypasses the service is invisible while the entry is cached
+        Wallet wallet = walletRepository.findById(testWalletId).orElseThrow();
+        wallet.setBalance(new BigDecimal("42.00"));
+        walletRepository.save(wallet);
+        
+        assertEquals(0, BigDecimal.ZERO.compareTo(walletService.getWalletBalance(testWalletId).getBalance()));
+        assertTrue(meterRegistry.get("cache.gets")
+            .tag("cache", CacheConfig.WALLET_BALANCES)
+            .tag("result", "hit")
+            .functionCounter().count() >= 1);
+    }
+    
+    @Test
+    void testOwnWriteIsVisibleImmediately() {
+        walletService.getWalletBalance(testWalletId);
+        
+        walletService.processOperation(new WalletOperationRequest(
+            testWalletId, WalletOperationRequest.OperationType.DEPOSIT, new BigDecimal("15.00")));
+        
+        assertEquals(new BigDecimal("15.00"), walletService.getWalletBalance(testWalletId).getBalance());
+    }
+    
+    @Test
+    void testTransferAndBatchEvictEveryTouchedWallet() {
+        UUID otherWalletId = UUID.randomUUID();
+        walletService.createWallet(otherWalletId);
+        walletService.processOperation(new WalletOperationRequest(
+            testWalletId, WalletOperationRequest.OperationType.DEPOSIT, new BigDecimal("100.00")));
+        walletService.getWalletBalance(testWalletId);
+        walletService.getWalletBalance(otherWalletId);
+        
+        walletService.transfer(new TransferRequest(testWalletId, otherWalletId, new BigDecimal("40.00")));
+        assertEquals(new BigDecimal("60.00"), walletService.getWalletBalance(testWalletId).getBalance());
+        assertEquals(new BigDecimal("40.00"), walletService.getWalletBalance(otherWalletId).getBalance());
+        
+        walletBatchService.process(List.of(new WalletOperationRequest(
+            otherWalletId, WalletOperationRequest.OperationType.WITHDRAW, new BigDecimal("10.00"))));
+        assertEquals(new BigDecimal("30.00"), walletService.getWalletBalance(otherWalletId).getBalance());
+    }
+}
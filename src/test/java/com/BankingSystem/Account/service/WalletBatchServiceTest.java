@@ -0,0 +1,75 @@
+package com.BankingSystem.Account.service;
+
+import com.BankingSystem.Account.config.WalletProperties;
+import com.BankingSystem.Account.dto.BatchItemResult;
+import com.BankingSystem.Account.dto.BatchOperationResponse;
+import com.BankingSystem.Account.dto.WalletOperationRequest;
+import com.BankingSystem.Account.dto.WalletResponse;
+import com.BankingSystem.Account.exception.InsufficientFundsException;
+import com.BankingSystem.Account.exception.ServiceBusyException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WalletBatchServiceTest {
+    
+    @Mock
+    private WalletService walletService;
+    
+    @Mock
+    private CacheManager cacheManager;
+    
+    private WalletBatchService walletBatchService;
+    
+    @BeforeEach
+    void setUp() {
+        WalletProperties walletProperties = new WalletProperties();
+        walletProperties.getLedger().setEnabled(true);
+        walletBatchService = new WalletBatchService(walletService, walletProperties, cacheManager);
+    }
+    
+    @Test
+    void testLedgerBatch_FailedItemsDoNotAbortTheRest() {
+        // Given
+        WalletOperationRequest deposit = request(WalletOperationRequest.OperationType.DEPOSIT);
+        WalletOperationRequest overdraft = request(WalletOperationRequest.OperationType.WITHDRAW);
+        WalletOperationRequest busy = request(WalletOperationRequest.OperationType.DEPOSIT);
+        WalletOperationRequest timedOut = request(WalletOperationRequest.OperationType.DEPOSIT);
+        WalletOperationRequest last = request(WalletOperationRequest.OperationType.DEPOSIT);
+        when(walletService.processOperation(deposit))
+            .thenReturn(new WalletResponse(deposit.getValletId(), new BigDecimal("110.00")));
+        when(walletService.processOperation(overdraft)).thenThrow(new InsufficientFundsException("Insufficient funds"));
+        when(walletService.processOperation(busy)).thenThrow(new ServiceBusyException("Too many concurrent operations"));
+        when(walletService.processOperation(timedOut)).thenThrow(new QueryTimeoutException("canceling statement"));
+        when(walletService.processOperation(last))
+            .thenReturn(new WalletResponse(last.getValletId(), new BigDecimal("10.00")));
+        
+        // When
+        BatchOperationResponse response = walletBatchService.process(List.of(deposit, overdraft, busy, timedOut, last));
+        
+        // Then
+        assertEquals(2, response.getSucceeded());
+        assertEquals(3, response.getFailed());
+        assertEquals(List.of(200, 400, 503, 500, 200),
+            response.getResults().stream().map(BatchItemResult::getStatus).toList());
+        assertEquals("An unexpected error occurred", response.getResults().get(3).getMessage());
+        verify(walletService, times(5)).processOperation(any(WalletOperationRequest.class));
+    }
+    
+    private static WalletOperationRequest request(WalletOperationRequest.OperationType type) {
+        return new WalletOperationRequest(UUID.randomUUID(), type, new BigDecimal("10.00"));
+    }
+}
@@ -0,0 +1,85 @@
+package com.BankingSystem.Account.service;
+
+import com.BankingSystem.Account.dto.BatchOperationResponse;
+import com.BankingSystem.Account.dto.WalletOperationRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Payout-style workload: thousands of deposits over hundreds of wallets sent as one batch.
+ * Single calls and batches are compared in ops/sec by the JMH BatchBenchmark.
+ */
+class WalletBatchThroughputTest extends ConcurrentLoadTestSupport {
+    
+    private static final int WALLET_COUNT = 500;
+    private static final int OPERATION_COUNT = 5000;
+    private static final BigDecimal PAYOUT_AMOUNT = new BigDecimal("2.50");
+    
+    @Autowired
+    private WalletService walletService;
+    
+    @Autowired
+    private WalletBatchService walletBatchService;
+    
+    private List<UUID> walletIds;
+    
+    @BeforeEach
+    void setUp() {
+        walletIds = createWallets(WALLET_COUNT);
+    }
+    
+    @Test
+    void testBatch_AppliesEveryPayout() {
+        BatchOperationResponse response = walletBatchService.process(payouts());
+        
+        assertEquals(OPERATION_COUNT, response.getSucceeded());
+        assertEquals(0, response.getFailed());
+        assertTotalPaidOut(1);
+    }
+    
+    @Test
+    void testOverlappingBatchesDoNotDeadlock() throws Exception {
+        // Each batch walks the same wallets in the opposite order
+        List<WalletOperationRequest> forward = payouts();
+        List<WalletOperationRequest> backward = new ArrayList<>(forward);
+        Collections.reverse(backward);
+        
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        Future<BatchOperationResponse> first = executorService.submit(() -> walletBatchService.process(forward));
+        Future<BatchOperationResponse> second = executorService.submit(() -> walletBatchService.process(backward));
+        
+        assertEquals(OPERATION_COUNT, first.get(120, TimeUnit.SECONDS).getSucceeded());
+        assertEquals(OPERATION_COUNT, second.get(120, TimeUnit.SECONDS).getSucceeded());
+        executorService.shutdown();
+        assertTotalPaidOut(2);
+    }
+    
+    private List<WalletOperationRequest> payouts() {
+        List<WalletOperationRequest> payouts = new ArrayList<>(OPERATION_COUNT);
+        for (int i = 0; i < OPERATION_COUNT; i++) {
+            payouts.add(new WalletOperationRequest(
+                walletIds.get(i % WALLET_COUNT),
+                WalletOperationRequest.OperationType.DEPOSIT,
+                PAYOUT_AMOUNT
+            ));
+        }
+        return payouts;
+    }
+    
+    private void assertTotalPaidOut(int rounds) {
+        BigDecimal perWallet = PAYOUT_AMOUNT.multiply(new BigDecimal(rounds * OPERATION_COUNT / WALLET_COUNT));
+        for (UUID walletId : walletIds) {
+            assertEquals(0, perWallet.compareTo(walletService.getWalletBalance(walletId).getBalance()));
+        }
+    }
+}
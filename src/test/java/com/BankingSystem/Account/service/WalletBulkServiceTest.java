@@ -0,0 +1,195 @@
+package com.BankingSystem.Account.service;
+
+import com.BankingSystem.Account.dto.WalletImportResponse;
+import com.BankingSystem.Account.entity.Wallet;
+import com.BankingSystem.Account.repository.WalletRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Enumeration;
+import java.util.Iterator;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Bulk import through COPY and streaming export against a real database.
+ * The large import prints rows/sec.
+ */
+@SpringBootTest
+@Testcontainers
+class WalletBulkServiceTest {
+    
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15")
+        .withDatabaseName("wallet_test_db")
+        .withUsername("test")
+        .withPassword("test");
+    
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+    
+    private static final int LARGE_IMPORT_ROWS = 200_000;
+    
+    @Autowired
+    private WalletBulkService walletBulkService;
+    
+    @Autowired
+    private WalletService walletService;
+    
+    @Autowired
+    private WalletRepository walletRepository;
+    
+    @BeforeEach
+    void setUp() {
+        walletRepository.deleteAll();
+    }
+    
+    @Test
+    void importCsv_ShouldCreateWalletsAndReportDuplicatesAndRejectedLines() {
+        // Given
+        UUID existingId = UUID.randomUUID();
+        walletRepository.save(new Wallet(existingId));
+        UUID firstId = UUID.randomUUID();
+        UUID secondId = UUID.randomUUID();
+        String csv = "walletId,openingBalance\n"
+            + firstId + ",100.50\n"
+            + secondId + ",0\n"
+            + firstId + ",7.00\n"
+            + existingId + ",1.00\n"
+            + "not-a-uuid,5.00\n"
+            + "\n";
+        
+        // When
+        WalletImportResponse response = walletBulkService.importWallets(stream(csv), WalletBulkService.Format.CSV);
+        
+        // Then
+        assertEquals(2, response.getImported());
+        assertEquals(2, response.getDuplicates());
+        assertEquals(1, response.getRejected());
+        assertEquals(4, response.getDuplicateLines().get(0).getLine());
+        assertEquals(firstId, response.getDuplicateLines().get(0).getWalletId());
+        assertEquals(5, response.getDuplicateLines().get(1).getLine());
+        assertEquals(existingId, response.getDuplicateLines().get(1).getWalletId());
+        assertEquals(6, response.getRejectedLines().get(0).getLine());
+        assertEquals(0, new BigDecimal("100.50").compareTo(walletService.getWalletBalance(firstId).getBalance()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(walletService.getWalletBalance(existingId).getBalance()));
+    }
+    
+    @Test
+    void importNdjson_ShouldRejectNegativeAndMalformedLines() {
+        // Given
+        UUID walletId = UUID.randomUUID();
+        String ndjson = "{\"walletId\":\"" + walletId + "\",\"openingBalance\":42.10}\n"
+            + "{\"walletId\":\"" + UUID.randomUUID() + "\",\"openingBalance\":-1}\n"
+            + "{\"walletId\":\n"
+            + "null\n";
+        
+        // When
+        WalletImportResponse response = walletBulkService.importWallets(stream(ndjson), WalletBulkService.Format.NDJSON);
+        
+        // Then
+        assertEquals(1, response.getImported());
+        assertEquals(0, response.getDuplicates());
+        assertEquals(3, response.getRejected());
+        assertEquals(4, response.getRejectedLines().get(2).getLine());
+        assertEquals(0, new BigDecimal("42.10").compareTo(walletService.getWalletBalance(walletId).getBalance()));
+    }
+    
+    @Test
+    void exportWallets_ShouldWriteEveryWalletOnce() {
+        // Given
+        walletBulkService.importWallets(csvRows(500), WalletBulkService.Format.CSV);
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        
+        // When
+        walletBulkService.exportWallets(WalletBulkService.Format.CSV, csv);
+        walletBulkService.exportWallets(WalletBulkService.Format.NDJSON, ndjson);
+        
+        // Then
+        String[] csvLines = csv.toString(StandardCharsets.UTF_8).split("\n");
+        String[] ndjsonLines = ndjson.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals("walletId,balance", csvLines[0]);
+        assertEquals(501, csvLines.length);
+        assertEquals(500, ndjsonLines.length);
+        assertTrue(ndjsonLines[0].startsWith("{\"walletId\":\""));
+        assertTrue(ndjsonLines[0].endsWith(",\"balance\":12.34}"));
+    }
+    
+    @Test
+    void importNdjson_ShouldReadItsOwnExport() {
+        // Given
+        walletBulkService.importWallets(csvRows(10), WalletBulkService.Format.CSV);
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        walletBulkService.exportWallets(WalletBulkService.Format.NDJSON, ndjson);
+        walletRepository.deleteAll();
+        
+        // When
+        WalletImportResponse response = walletBulkService.importWallets(
+            new ByteArrayInputStream(ndjson.toByteArray()), WalletBulkService.Format.NDJSON);
+        
+        // Then
+        assertEquals(10, response.getImported());
+        assertEquals(0, response.getRejected());
+        walletRepository.findAll().forEach(wallet ->
+            assertEquals(0, new BigDecimal("12.34").compareTo(wallet.getBalance())));
+    }
+    
+    @Test
+    void importCsv_LargeFile() {
+        // When
+        long started = System.nanoTime();
+        WalletImportResponse response = walletBulkService.importWallets(csvRows(LARGE_IMPORT_ROWS),
+            WalletBulkService.Format.CSV);
+        double seconds = (System.nanoTime() - started) / 1e9;
+        
+        // Then
+        System.out.printf("Bulk import: %d rows in %.2fs (%.0f rows/sec)%n",
+            LARGE_IMPORT_ROWS, seconds, LARGE_IMPORT_ROWS / seconds);
+        assertEquals(LARGE_IMPORT_ROWS, response.getImported());
+        assertEquals(LARGE_IMPORT_ROWS, walletRepository.count());
+    }
+    
+    private static InputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * Rows generated lazily, so the large import is streamed rather than built up front
+     */
+    private static InputStream csvRows(int count) {
+        Iterator<InputStream> rows = IntStream.range(0, count)
+            .mapToObj(i -> stream(UUID.randomUUID() + ",12.34\n"))
+            .iterator();
+        return new SequenceInputStream(new Enumeration<>() {
+            @Override
+            public boolean hasMoreElements() {
+                return rows.hasNext();
+            }
+            
+            @Override
+            public InputStream nextElement() {
+                return rows.next();
+            }
+        });
+    }
+}
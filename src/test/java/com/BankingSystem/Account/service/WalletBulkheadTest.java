@@ -0,0 +1,129 @@
+package com.BankingSystem.Account.service;
+
+import com.BankingSystem.Account.config.WalletProperties;
+import com.BankingSystem.Account.dto.WalletOperationRequest;
+import com.BankingSystem.Account.exception.ServiceBusyException;
+import com.BankingSystem.Account.repository.IdempotencyRecordRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.AspectJExpressionPointcut;
+
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class WalletBulkheadTest {
+    
+    private WalletProperties walletProperties;
+    private SimpleMeterRegistry meterRegistry;
+    private WalletBulkhead walletBulkhead;
+    
+    @BeforeEach
+    void setUp() {
+        walletProperties = new WalletProperties();
+        walletProperties.getBulkhead().setEnabled(true);
+        walletProperties.getBulkhead().setMaxConcurrentCalls(1);
+        walletProperties.getBulkhead().setMaxWait(Duration.ofMillis(50));
+        meterRegistry = new SimpleMeterRegistry();
+        walletBulkhead = new WalletBulkhead(walletProperties, meterRegistry);
+    }
+    
+    @Test
+    void testRejectsWhenAllPermitsAreHeld() throws Throwable {
+        // Given: one call holds the only permit
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ProceedingJoinPoint slowCall = mock(ProceedingJoinPoint.class);
+        when(slowCall.proceed()).thenAnswer(invocation -> {
+            entered.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return "slow";
+        });
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        Future<Object> holder = executorService.submit(() -> {
+            try {
+                return walletBulkhead.limit(slowCall);
+            } catch (Throwable e) {
+                throw new RuntimeException(e);
+            }
+        });
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+        
+        // When & Then
+        ProceedingJoinPoint rejectedCall = joinPoint();
+        assertThrows(ServiceBusyException.class, () -> walletBulkhead.limit(rejectedCall));
+        verify(rejectedCall, never()).proceed();
+        assertEquals(1.0, meterRegistry.get("wallet.bulkhead.rejections").counter().count());
+        
+        release.countDown();
+        assertEquals("slow", holder.get(5, TimeUnit.SECONDS));
+        executorService.shutdown();
+        
+        // The permit is back once the first call finished
+        ProceedingJoinPoint nextCall = joinPoint();
+        when(nextCall.proceed()).thenReturn("next");
+        assertEquals("next", walletBulkhead.limit(nextCall));
+    }
+    
+    @Test
+    void testDisabledBulkheadPassesThrough() throws Throwable {
+        walletProperties.getBulkhead().setEnabled(false);
+        ProceedingJoinPoint call = joinPoint();
+        when(call.proceed()).thenReturn("ok");
+        
+        assertEquals("ok", walletBulkhead.limit(call));
+    }
+    
+    @Test
+    void testNestedCallRunsOnTheCallersPermit() throws Throwable {
+        // Given: the only permit is held by the outer call
+        ProceedingJoinPoint inner = joinPoint();
+        when(inner.proceed()).thenReturn("inner");
+        ProceedingJoinPoint outer = joinPoint();
+        when(outer.proceed()).thenAnswer(invocation -> walletBulkhead.limit(inner));
+        
+        // When & Then
+        assertEquals("inner", walletBulkhead.limit(outer));
+        assertEquals(0.0, meterRegistry.get("wallet.bulkhead.rejections").counter().count());
+        assertEquals(1.0, meterRegistry.get("wallet.bulkhead.available").gauge().value());
+    }
+    
+    @Test
+    void testCoversEveryConnectionBorrowingCall() throws Exception {
+        AspectJExpressionPointcut pointcut = new AspectJExpressionPointcut();
+        pointcut.setExpression(WalletBulkhead.CONNECTION_USERS);
+        
+        assertTrue(pointcut.matches(WalletService.class.getMethod("getWalletBalance", UUID.class), WalletService.class));
+        assertTrue(pointcut.matches(WalletHistoryService.class.getMethod("getHistory", UUID.class, String.class, int.class),
+            WalletHistoryService.class));
+        assertTrue(pointcut.matches(WalletBulkService.class.getMethod("exportWallets", WalletBulkService.Format.class,
+            OutputStream.class), WalletBulkService.class));
+        assertTrue(pointcut.matches(IdempotencyRecordRepository.class.getMethod("reserve", String.class, UUID.class,
+            String.class), IdempotencyRecordRepository.class));
+        assertTrue(pointcut.matches(IdempotencyRecordRepository.class.getMethod("findById", Object.class),
+            IdempotencyRecordRepository.class));
+        // Waits on the combiner and the shards; its store calls are covered one by one
+        assertFalse(pointcut.matches(IdempotencyService.class.getMethod("execute", String.class,
+            WalletOperationRequest.class, Supplier.class), IdempotencyService.class));
+    }
+    
+    private static ProceedingJoinPoint joinPoint() {
+        ProceedingJoinPoint joinPoint = mock(ProceedingJoinPoint.class);
+        Signature signature = mock(Signature.class);
+        lenient().when(signature.getName()).thenReturn("processOperation");
+        lenient().when(joinPoint.getSignature()).thenReturn(signature);
+        return joinPoint;
+    }
+}
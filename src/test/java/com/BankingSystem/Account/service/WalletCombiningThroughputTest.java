@@ -0,0 +1,68 @@
+package com.BankingSystem.Account.service;
+
+import com.BankingSystem.Account.dto.WalletOperationRequest;
+import com.BankingSystem.Account.dto.WalletResponse;
+import com.BankingSystem.Account.exception.InsufficientFundsException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Write combining on a single hot wallet under 64 client threads.
+ * Hot-wallet ops/sec with and without combining is measured by the JMH DepositThroughputBenchmark.
+ */
+class WalletCombiningThroughputTest extends ConcurrentLoadTestSupport {
+    
+    private static final int OPERATION_COUNT = 200;
+    private static final int CLIENT_THREADS = 64;
+    private static final BigDecimal DEPOSIT_AMOUNT = new BigDecimal("1.00");
+    
+    @Autowired
+    private WalletService walletService;
+    
+    @Autowired
+    private WalletOperationCombiner walletOperationCombiner;
+    
+    private UUID testWalletId;
+    
+    @BeforeEach
+    void setUp() {
+        testWalletId = createWallets(1).get(0);
+    }
+    
+    @Test
+    void testCombining_AppliesEveryConcurrentDeposit() throws InterruptedException {
+        runConcurrently(CLIENT_THREADS, OPERATION_COUNT, i -> walletOperationCombiner.submit(
+            new WalletOperationRequest(testWalletId, WalletOperationRequest.OperationType.DEPOSIT, DEPOSIT_AMOUNT)));
+        
+        WalletResponse finalBalance = walletService.getWalletBalance(testWalletId);
+        assertEquals(0, DEPOSIT_AMOUNT.multiply(new BigDecimal(OPERATION_COUNT)).compareTo(finalBalance.getBalance()));
+    }
+    
+    @Test
+    void testCombining_RejectsOnlyOverdrawingWithdrawals() throws InterruptedException {
+        // 50 deposits of 1.00 race 100 withdrawals of 1.00: exactly 50 withdrawals can succeed
+        AtomicInteger rejected = new AtomicInteger(0);
+        runConcurrently(CLIENT_THREADS, 150, i -> {
+            WalletOperationRequest.OperationType type = (i % 3 == 0)
+                ? WalletOperationRequest.OperationType.DEPOSIT
+                : WalletOperationRequest.OperationType.WITHDRAW;
+            try {
+                walletOperationCombiner.submit(new WalletOperationRequest(testWalletId, type, DEPOSIT_AMOUNT));
+            } catch (InsufficientFundsException e) {
+                rejected.incrementAndGet();
+            }
+        });
+        
+        WalletResponse finalBalance = walletService.getWalletBalance(testWalletId);
+        BigDecimal expected = DEPOSIT_AMOUNT.multiply(new BigDecimal(50 - (100 - rejected.get())));
+        assertEquals(0, expected.compareTo(finalBalance.getBalance()));
+        assertTrue(finalBalance.getBalance().signum() >= 0);
+    }
+}
@@ -0,0 +1,147 @@
+package com.BankingSystem.Account.service;
+
+import com.BankingSystem.Account.config.WalletProperties;
+import com.BankingSystem.Account.dto.WalletOperationRequest;
+import com.BankingSystem.Account.dto.WalletResponse;
+import com.BankingSystem.Account.entity.DepositJournalCheckpoint;
+import com.BankingSystem.Account.repository.DepositJournalCheckpointRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WalletDepositJournalTest {
+    
+    @Mock
+    private WalletService walletService;
+    
+    @Mock
+    private DepositJournalCheckpointRepository checkpointRepository;
+    
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    
+    @TempDir
+    Path journalDirectory;
+    
+    private WalletProperties walletProperties;
+    private final List<WalletDepositJournal> journals = new ArrayList<>();
+    
+    private UUID firstWalletId;
+    private UUID secondWalletId;
+    
+    @BeforeEach
+    void setUp() {
+        walletProperties = new WalletProperties();
+        walletProperties.getWriteBehind().setEnabled(true);
+        walletProperties.getWriteBehind().setDirectory(journalDirectory.toString());
+        // Flushes are driven by the tests
+        walletProperties.getWriteBehind().setFlushInterval(Duration.ofHours(1));
+        firstWalletId = UUID.randomUUID();
+        secondWalletId = UUID.randomUUID();
+        lenient().when(walletService.getWalletBalance(any(UUID.class)))
+            .thenAnswer(invocation -> new WalletResponse(invocation.getArgument(0), new BigDecimal("100.00")));
+        lenient().when(walletService.getStoredBalance(any(UUID.class)))
+            .thenAnswer(invocation -> new WalletResponse(invocation.getArgument(0), new BigDecimal("100.00")));
+    }
+    
+    @AfterEach
+    void tearDown() {
+        journals.forEach(WalletDepositJournal::shutdown);
+    }
+    
+    @Test
+    void testDepositIsReadableBeforeAndAfterFlush() {
+        // Given
+        when(checkpointRepository.findById("default")).thenReturn(Optional.empty());
+        WalletDepositJournal journal = openJournal();
+        
+        // When: acknowledged deposits are pending on top of the stored balance
+        journal.deposit(deposit(firstWalletId, "5.00"));
+        WalletResponse response = journal.deposit(deposit(firstWalletId, "2.50"));
+        
+        // Then
+        assertEquals(new BigDecimal("107.50"), response.getBalance());
+        assertEquals(new BigDecimal("107.50"), journal.getBalance(firstWalletId).getBalance());
+        
+        // When: the flusher applies them as one summed delta with the checkpoint
+        journal.flushDurable();
+        
+        // Then: nothing is pending any more, the balance comes from the wallet row alone
+        verify(walletService).applyJournalDeposits("default", new TreeMap<>(Map.of(firstWalletId, 750L)),
+            1, 2 * WalletDepositJournal.RECORD_SIZE);
+        assertEquals(new BigDecimal("100.00"), journal.getBalance(firstWalletId).getBalance());
+        // Balances are read past the cache; the cached read is only the deposits' existence check
+        verify(walletService, times(2)).getWalletBalance(firstWalletId);
+    }
+    
+    @Test
+    void testRestartReplaysOnlyRecordsAfterCheckpoint() throws Exception {
+        // Given: three deposits journaled, the first one already applied before a crash
+        when(checkpointRepository.findById("default")).thenReturn(Optional.empty());
+        WalletDepositJournal crashed = openJournal();
+        crashed.deposit(deposit(firstWalletId, "1.00"));
+        crashed.deposit(deposit(firstWalletId, "2.00"));
+        crashed.deposit(deposit(secondWalletId, "3.00"));
+        
+        DepositJournalCheckpoint checkpoint = new DepositJournalCheckpoint();
+        checkpoint.setJournalId("default");
+        checkpoint.setGeneration(1);
+        checkpoint.setPosition(WalletDepositJournal.RECORD_SIZE);
+        when(checkpointRepository.findById("default")).thenReturn(Optional.of(checkpoint));
+        
+        // When
+        WalletDepositJournal restarted = openJournal();
+        
+        // Then: the unapplied tail is pending again and is applied exactly once
+        assertEquals(new BigDecimal("102.00"), restarted.getBalance(firstWalletId).getBalance());
+        assertEquals(new BigDecimal("103.00"), restarted.getBalance(secondWalletId).getBalance());
+        
+        restarted.flushDurable();
+        
+        TreeMap<UUID, Long> tail = new TreeMap<>(Map.of(firstWalletId, 200L, secondWalletId, 300L));
+        verify(walletService).applyJournalDeposits("default", tail, 1, 3 * WalletDepositJournal.RECORD_SIZE);
+        // The recovered segment is sealed, so the checkpoint moves to the new one and the file goes
+        verify(walletService).applyJournalDeposits(eq("default"), eq(new TreeMap<>()), eq(2L), anyLong());
+        assertFalse(Files.exists(journalDirectory.resolve("deposits-0000000000000001.journal")));
+        assertEquals(new BigDecimal("100.00"), restarted.getBalance(secondWalletId).getBalance());
+    }
+    
+    private WalletDepositJournal openJournal() {
+        WalletDepositJournal journal = new WalletDepositJournal(walletService, checkpointRepository,
+            walletProperties, new ConcurrentMapCacheManager(), new SimpleMeterRegistry(),
+            new TransactionTemplate(transactionManager));
+        journal.start();
+        journals.add(journal);
+        return journal;
+    }
+    
+    private static WalletOperationRequest deposit(UUID walletId, String amount) {
+        return new WalletOperationRequest(walletId, WalletOperationRequest.OperationType.DEPOSIT, new BigDecimal(amount));
+    }
+}
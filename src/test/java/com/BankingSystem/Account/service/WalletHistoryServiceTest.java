@@ -0,0 +1,171 @@
+package com.BankingSystem.Account.service;
+
+import com.BankingSystem.Account.config.WalletProperties;
+import com.BankingSystem.Account.dto.TransferRequest;
+import com.BankingSystem.Account.dto.WalletHistoryEntry;
+import com.BankingSystem.Account.dto.WalletHistoryPage;
+import com.BankingSystem.Account.dto.WalletOperationRequest;
+import com.BankingSystem.Account.exception.WalletNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Point-in-time balances and keyset pagination against a real database,
+ * with the balance column and with the ledger as the source of truth
+ */
+@SpringBootTest
+@Testcontainers
+class WalletHistoryServiceTest {
+    
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15")
+        .withDatabaseName("wallet_test_db")
+        .withUsername("test")
+        .withPassword("test");
+    
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+    
+    @Autowired
+    private WalletHistoryService walletHistoryService;
+    
+    @Autowired
+    private WalletService walletService;
+    
+    @Autowired
+    private WalletProperties walletProperties;
+    
+    private UUID walletId;
+    
+    @BeforeEach
+    void setUp() {
+        walletId = UUID.randomUUID();
+    }
+    
+    @AfterEach
+    void tearDown() {
+        walletProperties.getLedger().setEnabled(false);
+    }
+    
+    @Test
+    void testBalanceAsOf_FollowsEveryWritePath() throws InterruptedException {
+        OffsetDateTime beforeCreation = now();
+        walletService.createWallet(walletId);
+        deposit(walletId, "100.00");
+        OffsetDateTime afterDeposit = now();
+        
+        UUID otherWalletId = UUID.randomUUID();
+        walletService.createWallet(otherWalletId);
+        walletService.transfer(new TransferRequest(walletId, otherWalletId, new BigDecimal("30.00")));
+        OffsetDateTime afterTransfer = now();
+        
+        assertThrows(WalletNotFoundException.class,
+            () -> walletHistoryService.getBalanceAsOf(walletId, beforeCreation));
+        assertBalance("100.00", walletId, afterDeposit);
+        assertBalance("70.00", walletId, afterTransfer);
+        assertBalance("30.00", otherWalletId, afterTransfer);
+        assertThrows(WalletNotFoundException.class,
+            () -> walletHistoryService.getBalanceAsOf(otherWalletId, afterDeposit));
+        // Before the history migration nothing was recorded, not even that the wallet was missing
+        IllegalArgumentException beforeHistory = assertThrows(IllegalArgumentException.class,
+            () -> walletHistoryService.getBalanceAsOf(walletId, OffsetDateTime.parse("2000-01-01T00:00:00Z")));
+        assertTrue(beforeHistory.getMessage().startsWith("No balance history before "));
+    }
+    
+    @Test
+    void testHistory_KeysetPagesCoverEveryEntryOnce() {
+        walletService.createWallet(walletId);
+        for (int i = 1; i <= 7; i++) {
+            deposit(walletId, i + ".00");
+        }
+        
+        List<WalletHistoryEntry> entries = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            WalletHistoryPage page = walletHistoryService.getHistory(walletId, cursor, 3);
+            entries.addAll(page.getEntries());
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+        
+        // Opening entry plus seven deposits, newest first
+        assertEquals(3, pages);
+        assertEquals(8, entries.size());
+        assertEquals(0, new BigDecimal("7.00").compareTo(entries.get(0).getAmount()));
+        assertEquals(0, new BigDecimal("28.00").compareTo(entries.get(0).getBalance()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(entries.get(7).getBalance()));
+        assertEquals(8, entries.stream().map(WalletHistoryEntry::getId).distinct().count());
+    }
+    
+    @Test
+    void testHistory_UnknownWalletAndBadInput() {
+        assertThrows(WalletNotFoundException.class,
+            () -> walletHistoryService.getHistory(UUID.randomUUID(), null, 10));
+        assertThrows(IllegalArgumentException.class,
+            () -> walletHistoryService.getHistory(walletId, "not-a-cursor", 10));
+        assertThrows(IllegalArgumentException.class,
+            () -> walletHistoryService.getHistory(walletId, null, WalletHistoryService.MAX_PAGE_SIZE + 1));
+    }
+    
+    @Test
+    void testLedgerMode_BalanceAsOfAndHistory() throws InterruptedException {
+        walletProperties.getLedger().setEnabled(true);
+        walletService.createWallet(walletId);
+        deposit(walletId, "50.00");
+        OffsetDateTime afterFirstDeposit = now();
+        deposit(walletId, "25.00");
+        walletService.processOperation(new WalletOperationRequest(
+            walletId, WalletOperationRequest.OperationType.WITHDRAW, new BigDecimal("5.00")));
+        OffsetDateTime afterWithdrawal = now();
+        
+        assertBalance("50.00", walletId, afterFirstDeposit);
+        assertBalance("70.00", walletId, afterWithdrawal);
+        
+        WalletHistoryPage first = walletHistoryService.getHistory(walletId, null, 2);
+        WalletHistoryPage second = walletHistoryService.getHistory(walletId, first.getNextCursor(), 2);
+        assertEquals(0, new BigDecimal("-5.00").compareTo(first.getEntries().get(0).getAmount()));
+        assertNull(first.getEntries().get(0).getBalance());
+        assertEquals(1, second.getEntries().size());
+        assertNull(second.getNextCursor());
+    }
+    
+    private void deposit(UUID id, String amount) {
+        walletService.processOperation(new WalletOperationRequest(
+            id, WalletOperationRequest.OperationType.DEPOSIT, new BigDecimal(amount)));
+    }
+    
+    private void assertBalance(String expected, UUID id, OffsetDateTime asOf) {
+        assertEquals(0, new BigDecimal(expected).compareTo(walletHistoryService.getBalanceAsOf(id, asOf).getBalance()));
+    }
+    
+    /**
+     * An instant strictly between the operations before and after it
+     */
+    private static OffsetDateTime now() throws InterruptedException {
+        Thread.sleep(5);
+        OffsetDateTime now = OffsetDateTime.now();
+        Thread.sleep(5);
+        return now;
+    }
+}
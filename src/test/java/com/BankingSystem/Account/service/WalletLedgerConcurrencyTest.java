@@ -0,0 +1,142 @@
+package com.BankingSystem.Account.service;
+
+import com.BankingSystem.Account.dto.TransferRequest;
+import com.BankingSystem.Account.dto.WalletOperationRequest;
+import com.BankingSystem.Account.entity.Wallet;
+import com.BankingSystem.Account.repository.WalletRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Ledger entries written while the same wallet is being compacted must all
+ * end up in its balance, whichever side of the snapshot they land on. A test
+ * trigger widens the gap between an entry drawing its id and it reaching the
+ * foreign key check, where a snapshot could otherwise slip past it.
+ */
+@SpringBootTest
+@Testcontainers
+class WalletLedgerConcurrencyTest {
+    
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15")
+        .withDatabaseName("wallet_test_db")
+        .withUsername("test")
+        .withPassword("test");
+    
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+    
+    private static final int OPERATION_COUNT = 1000;
+    private static final BigDecimal AMOUNT = new BigDecimal("1.00");
+    
+    @Autowired
+    private WalletLedgerService walletLedgerService;
+    
+    @Autowired
+    private WalletRepository walletRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    private UUID sourceWalletId;
+    private UUID targetWalletId;
+    
+    @BeforeEach
+    void setUp() {
+        // Runs after the IDENTITY default is drawn and before the foreign key trigger
+        jdbcTemplate.execute("""
+            CREATE OR REPLACE FUNCTION test_slow_ledger_insert() RETURNS trigger AS $$
+            BEGIN PERFORM pg_sleep(random() * 0.02); RETURN NEW; END
+            $$ LANGUAGE plpgsql
+            """);
+        jdbcTemplate.execute("""
+            CREATE TRIGGER test_slow_ledger_insert BEFORE INSERT ON wallet_transactions
+            FOR EACH ROW EXECUTE FUNCTION test_slow_ledger_insert()
+            """);
+        walletRepository.deleteAll();
+        sourceWalletId = UUID.randomUUID();
+        targetWalletId = UUID.randomUUID();
+        walletRepository.save(new Wallet(sourceWalletId));
+        walletRepository.save(new Wallet(targetWalletId));
+        walletLedgerService.processOperation(new WalletOperationRequest(
+            sourceWalletId, WalletOperationRequest.OperationType.DEPOSIT, AMOUNT.multiply(new BigDecimal(OPERATION_COUNT))));
+    }
+    
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP TRIGGER IF EXISTS test_slow_ledger_insert ON wallet_transactions");
+        jdbcTemplate.execute("DROP FUNCTION IF EXISTS test_slow_ledger_insert()");
+    }
+    
+    @Test
+    void testDepositsAndTransfersDuringCompaction_NoLostEntries() throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(32);
+        CountDownLatch latch = new CountDownLatch(OPERATION_COUNT);
+        AtomicInteger errors = new AtomicInteger(0);
+        AtomicReference<Exception> lastError = new AtomicReference<>();
+        AtomicBoolean done = new AtomicBoolean(false);
+        
+        // Compacts the target wallet over and over while entries keep arriving
+        Future<Integer> compactions = Executors.newSingleThreadExecutor().submit(() -> {
+            int count = 0;
+            while (!done.get()) {
+                walletLedgerService.compact(targetWalletId);
+                count++;
+            }
+            return count;
+        });
+        
+        for (int i = 0; i < OPERATION_COUNT; i++) {
+            boolean transfer = i % 2 == 0;
+            executorService.submit(() -> {
+                try {
+                    if (transfer) {
+                        walletLedgerService.transfer(new TransferRequest(sourceWalletId, targetWalletId, AMOUNT));
+                    } else {
+                        walletLedgerService.processOperation(new WalletOperationRequest(
+                            targetWalletId, WalletOperationRequest.OperationType.DEPOSIT, AMOUNT));
+                    }
+                } catch (Exception e) {
+                    errors.incrementAndGet();
+                    lastError.set(e);
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        
+        assertTrue(latch.await(120, TimeUnit.SECONDS));
+        done.set(true);
+        assertTrue(compactions.get(30, TimeUnit.SECONDS) > 0);
+        executorService.shutdown();
+        
+        assertEquals(0, errors.get(), () -> String.valueOf(lastError.get()));
+        walletLedgerService.compact(targetWalletId);
+        BigDecimal expected = AMOUNT.multiply(new BigDecimal(OPERATION_COUNT));
+        assertEquals(0, expected.compareTo(walletLedgerService.getBalance(targetWalletId).getBalance()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(
+            walletLedgerService.getBalance(sourceWalletId).getBalance().subtract(expected.divide(new BigDecimal(2)))));
+    }
+}
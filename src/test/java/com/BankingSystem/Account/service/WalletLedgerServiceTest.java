@@ -0,0 +1,153 @@
+package com.BankingSystem.Account.service;
+
+import com.BankingSystem.Account.dto.WalletOperationRequest;
+import com.BankingSystem.Account.dto.WalletResponse;
+import com.BankingSystem.Account.entity.WalletBalanceSnapshot;
+import com.BankingSystem.Account.entity.WalletTransaction;
+import com.BankingSystem.Account.exception.InsufficientFundsException;
+import com.BankingSystem.Account.exception.WalletNotFoundException;
+import com.BankingSystem.Account.repository.WalletBalanceSnapshotRepository;
+import com.BankingSystem.Account.repository.WalletRepository;
+import com.BankingSystem.Account.repository.WalletTransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WalletLedgerServiceTest {
+    
+    @Mock
+    private WalletRepository walletRepository;
+    
+    @Mock
+    private WalletTransactionRepository walletTransactionRepository;
+    
+    @Mock
+    private WalletBalanceSnapshotRepository walletBalanceSnapshotRepository;
+    
+    @InjectMocks
+    private WalletLedgerService walletLedgerService;
+    
+    private UUID testWalletId;
+    
+    @BeforeEach
+    void setUp() {
+        testWalletId = UUID.randomUUID();
+    }
+    
+    @Test
+    void testDeposit_SharesRowLockBeforeInsert() {
+        // Given
+        WalletOperationRequest request = new WalletOperationRequest(
+            testWalletId,
+            WalletOperationRequest.OperationType.DEPOSIT,
+            new BigDecimal("250.00")
+        );
+        when(walletRepository.lockForLedgerDeposit(testWalletId))
+            .thenReturn(Optional.of(testWalletId));
+        when(walletTransactionRepository.findDerivedBalance(testWalletId))
+            .thenReturn(Optional.of(new BigDecimal("1250.00")));
+        
+        // When
+        WalletResponse response = walletLedgerService.processOperation(request);
+        
+        // Then
+        ArgumentCaptor<WalletTransaction> entry = ArgumentCaptor.forClass(WalletTransaction.class);
+        verify(walletTransactionRepository).save(entry.capture());
+        assertEquals(new BigDecimal("250.00"), entry.getValue().getAmount());
+        assertEquals(new BigDecimal("1250.00"), response.getBalance());
+        InOrder inOrder = inOrder(walletRepository, walletTransactionRepository);
+        inOrder.verify(walletRepository).lockForLedgerDeposit(testWalletId);
+        inOrder.verify(walletTransactionRepository).save(any(WalletTransaction.class));
+    }
+    
+    @Test
+    void testDeposit_UnknownWallet() {
+        // Given
+        WalletOperationRequest request = new WalletOperationRequest(
+            testWalletId,
+            WalletOperationRequest.OperationType.DEPOSIT,
+            new BigDecimal("250.00")
+        );
+        when(walletRepository.lockForLedgerDeposit(testWalletId))
+            .thenReturn(Optional.empty());
+        
+        // When & Then
+        assertThrows(WalletNotFoundException.class, () -> walletLedgerService.processOperation(request));
+        verify(walletTransactionRepository, never()).save(any(WalletTransaction.class));
+    }
+    
+    @Test
+    void testWithdraw_ChecksDerivedBalance() {
+        // Given
+        WalletOperationRequest request = new WalletOperationRequest(
+            testWalletId,
+            WalletOperationRequest.OperationType.WITHDRAW,
+            new BigDecimal("300.00")
+        );
+        when(walletRepository.lockForLedgerWithdrawal(testWalletId))
+            .thenReturn(Optional.of(testWalletId));
+        when(walletTransactionRepository.findDerivedBalance(testWalletId))
+            .thenReturn(Optional.of(new BigDecimal("1000.00")));
+        
+        // When
+        WalletResponse response = walletLedgerService.processOperation(request);
+        
+        // Then
+        ArgumentCaptor<WalletTransaction> entry = ArgumentCaptor.forClass(WalletTransaction.class);
+        verify(walletTransactionRepository).save(entry.capture());
+        assertEquals(new BigDecimal("-300.00"), entry.getValue().getAmount());
+        assertEquals(new BigDecimal("700.00"), response.getBalance());
+    }
+    
+    @Test
+    void testWithdraw_InsufficientFunds() {
+        // Given
+        WalletOperationRequest request = new WalletOperationRequest(
+            testWalletId,
+            WalletOperationRequest.OperationType.WITHDRAW,
+            new BigDecimal("2000.00")
+        );
+        when(walletRepository.lockForLedgerWithdrawal(testWalletId))
+            .thenReturn(Optional.of(testWalletId));
+        when(walletTransactionRepository.findDerivedBalance(testWalletId))
+            .thenReturn(Optional.of(new BigDecimal("1000.00")));
+        
+        // When & Then
+        assertThrows(InsufficientFundsException.class, () -> walletLedgerService.processOperation(request));
+        verify(walletTransactionRepository, never()).save(any());
+    }
+    
+    @Test
+    void testCompact_WritesSnapshotAtLastEntry() {
+        // Given
+        when(walletRepository.lockForCompaction(testWalletId))
+            .thenReturn(Optional.of(testWalletId));
+        when(walletTransactionRepository.findLastTransactionId(testWalletId))
+            .thenReturn(Optional.of(42L));
+        when(walletTransactionRepository.findDerivedBalance(testWalletId))
+            .thenReturn(Optional.of(new BigDecimal("875.00")));
+        
+        // When
+        walletLedgerService.compact(testWalletId);
+        
+        // Then
+        ArgumentCaptor<WalletBalanceSnapshot> snapshot = ArgumentCaptor.forClass(WalletBalanceSnapshot.class);
+        verify(walletBalanceSnapshotRepository).save(snapshot.capture());
+        assertEquals(42L, snapshot.getValue().getLastTransactionId());
+        assertEquals(new BigDecimal("875.00"), snapshot.getValue().getBalance());
+    }
+}
@@ -0,0 +1,87 @@
+package com.BankingSystem.Account.service;
+
+import com.BankingSystem.Account.dto.WalletOperationRequest;
+import com.BankingSystem.Account.exception.InsufficientFundsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class WalletMetricsTest {
+    
+    private SimpleMeterRegistry meterRegistry;
+    private WalletMetrics walletMetrics;
+    
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        walletMetrics = new WalletMetrics(meterRegistry);
+    }
+    
+    @Test
+    void testOperationTimedByTypeAndException() throws Throwable {
+        // Given
+        ProceedingJoinPoint ok = mock(ProceedingJoinPoint.class);
+        when(ok.proceed()).thenReturn("ok");
+        ProceedingJoinPoint rejected = mock(ProceedingJoinPoint.class);
+        when(rejected.proceed()).thenThrow(new InsufficientFundsException("Insufficient funds"));
+        
+        // When
+        assertEquals("ok", walletMetrics.timeOperation(ok, request(WalletOperationRequest.OperationType.DEPOSIT)));
+        assertThrows(InsufficientFundsException.class,
+            () -> walletMetrics.timeOperation(rejected, request(WalletOperationRequest.OperationType.WITHDRAW)));
+        
+        // Then
+        assertEquals(1, meterRegistry.get("wallet.operation")
+            .tags("type", "DEPOSIT", "exception", "none").timer().count());
+        assertEquals(1, meterRegistry.get("wallet.operation")
+            .tags("type", "WITHDRAW", "exception", "InsufficientFundsException").timer().count());
+    }
+    
+    @Test
+    void testLockAcquireTimedPerQuery() throws Throwable {
+        // Given
+        Signature signature = mock(Signature.class);
+        when(signature.getName()).thenReturn("findByIdWithLock");
+        ProceedingJoinPoint call = mock(ProceedingJoinPoint.class);
+        when(call.getSignature()).thenReturn(signature);
+        when(call.proceed()).thenReturn("wallet");
+        
+        // When
+        walletMetrics.timeLockAcquire(call);
+        walletMetrics.timeLockAcquire(call);
+        
+        // Then
+        assertEquals(2, meterRegistry.get("wallet.lock.acquire")
+            .tags("query", "findByIdWithLock", "exception", "none").timer().count());
+    }
+    
+    @Test
+    void testShardOperationTimedUntilItsFutureCompletes() throws Throwable {
+        // Given
+        CompletableFuture<Object> result = new CompletableFuture<>();
+        ProceedingJoinPoint submit = mock(ProceedingJoinPoint.class);
+        when(submit.proceed()).thenReturn(result);
+        
+        // When: nothing is recorded for the enqueue alone
+        assertSame(result, walletMetrics.timeOperation(submit, request(WalletOperationRequest.OperationType.WITHDRAW)));
+        assertNull(meterRegistry.find("wallet.operation").timer());
+        result.completeExceptionally(new InsufficientFundsException("Insufficient funds"));
+        
+        // Then
+        assertEquals(1, meterRegistry.get("wallet.operation")
+            .tags("type", "WITHDRAW", "exception", "InsufficientFundsException").timer().count());
+    }
+    
+    private static WalletOperationRequest request(WalletOperationRequest.OperationType type) {
+        return new WalletOperationRequest(UUID.randomUUID(), type, new BigDecimal("1.00"));
+    }
+}
@@ -0,0 +1,52 @@
+package com.BankingSystem.Account.service;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WalletOperationLogSummaryTest {
+    
+    private SimpleMeterRegistry meterRegistry;
+    private WalletOperationLogSummary walletOperationLogSummary;
+    
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        walletOperationLogSummary = new WalletOperationLogSummary(meterRegistry);
+    }
+    
+    @Test
+    void testSummaryReportsOnlyOperationsSinceLastCall() {
+        // Given
+        Timer deposits = timer("DEPOSIT", "none");
+        Timer rejected = timer("WITHDRAW", "InsufficientFundsException");
+        deposits.record(Duration.ofMillis(10));
+        deposits.record(Duration.ofMillis(30));
+        rejected.record(Duration.ofMillis(5));
+        
+        // When
+        String first = walletOperationLogSummary.summarize();
+        deposits.record(Duration.ofMillis(4));
+        String second = walletOperationLogSummary.summarize();
+        String third = walletOperationLogSummary.summarize();
+        
+        // Then
+        assertTrue(first.startsWith("Processed 3 wallet operations"), first);
+        assertTrue(first.contains("DEPOSIT/none=2 (avg 20.0ms)"), first);
+        assertTrue(first.contains("WITHDRAW/InsufficientFundsException=1"), first);
+        assertEquals("Processed 1 wallet operations: DEPOSIT/none=1 (avg 4.0ms)", second);
+        assertNull(third);
+    }
+    
+    private Timer timer(String type, String exception) {
+        return Timer.builder("wallet.operation")
+            .tag("type", type)
+            .tag("exception", exception)
+            .register(meterRegistry);
+    }
+}
@@ -1,24 +1,33 @@
 package com.BankingSystem.Account.service;
 
+import com.BankingSystem.Account.config.WalletProperties;
+import com.BankingSystem.Account.dto.BulkCreateWalletsResponse;
+import com.BankingSystem.Account.dto.TransferRequest;
+import com.BankingSystem.Account.dto.TransferResponse;
 import com.BankingSystem.Account.dto.WalletOperationRequest;
 import com.BankingSystem.Account.dto.WalletResponse;
 import com.BankingSystem.Account.entity.Wallet;
 import com.BankingSystem.Account.exception.InsufficientFundsException;
+import com.BankingSystem.Account.exception.WalletAlreadyExistsException;
 import com.BankingSystem.Account.exception.WalletNotFoundException;
+import com.BankingSystem.Account.repository.WalletJdbcRepository;
 import com.BankingSystem.Account.repository.WalletRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,6 +36,15 @@ class WalletServiceTest {
     @Mock
     private WalletRepository walletRepository;
     
+    @Mock
+    private WalletJdbcRepository walletJdbcRepository;
+    
+    @Mock
+    private WalletLedgerService walletLedgerService;
+    
+    @Spy
+    private WalletProperties walletProperties = new WalletProperties();
+    
     @InjectMocks
     private WalletService walletService;
     
@@ -165,10 +183,8 @@ class WalletServiceTest {
     @Test
     void testCreateWallet_Success() {
         // Given
-        when(walletRepository.existsById(testWalletId))
-            .thenReturn(false);
-        when(walletRepository.save(any(Wallet.class)))
-            .thenAnswer(invocation -> invocation.getArgument(0));
+        when(walletRepository.insertIfAbsent(testWalletId))
+            .thenReturn(Optional.of(0L));
         
         // When
         WalletResponse response = walletService.createWallet(testWalletId);
@@ -177,22 +193,345 @@ class WalletServiceTest {
         assertNotNull(response);
         assertEquals(testWalletId, response.getWalletId());
         assertEquals(BigDecimal.ZERO, response.getBalance());
-        verify(walletRepository).existsById(testWalletId);
-        verify(walletRepository).save(any(Wallet.class));
+        verify(walletRepository).insertIfAbsent(testWalletId);
+        verify(walletRepository, never()).existsById(any());
+        verify(walletRepository, never()).save(any());
     }
     
     @Test
     void testCreateWallet_AlreadyExists() {
         // Given
-        when(walletRepository.existsById(testWalletId))
-            .thenReturn(true);
+        when(walletRepository.insertIfAbsent(testWalletId))
+            .thenReturn(Optional.empty());
         
         // When & Then
-        assertThrows(IllegalArgumentException.class, () -> {
+        assertThrows(WalletAlreadyExistsException.class, () -> {
             walletService.createWallet(testWalletId);
         });
         
-        verify(walletRepository).existsById(testWalletId);
         verify(walletRepository, never()).save(any());
     }
-}
\ No newline at end of file
+    
+    @Test
+    void testCreateWallets_SplitsCreatedAndExistingInRequestOrder() {
+        // Given
+        UUID existingId = UUID.randomUUID();
+        UUID newId = UUID.randomUUID();
+        when(walletRepository.insertAllIfAbsent(any(UUID[].class)))
+            .thenReturn(List.of(newId, testWalletId));
+        
+        // When
+        BulkCreateWalletsResponse response = walletService.createWallets(
+            List.of(testWalletId, existingId, newId, testWalletId));
+        
+        // Then
+        assertEquals(List.of(testWalletId, newId), response.getCreated());
+        assertEquals(List.of(existingId), response.getExisting());
+        verify(walletRepository).insertAllIfAbsent(new UUID[]{testWalletId, existingId, newId});
+    }
+    
+    @Test
+    void testProcessBatch_AppliesInOrderAndRejectsOnlyOverdraw() {
+        // Given
+        List<WalletOperationRequest> requests = List.of(
+            new WalletOperationRequest(testWalletId, WalletOperationRequest.OperationType.WITHDRAW, new BigDecimal("800.00")),
+            new WalletOperationRequest(testWalletId, WalletOperationRequest.OperationType.WITHDRAW, new BigDecimal("300.00")),
+            new WalletOperationRequest(testWalletId, WalletOperationRequest.OperationType.DEPOSIT, new BigDecimal("100.00"))
+        );
+        
+        when(walletRepository.findByIdWithLock(testWalletId))
+            .thenReturn(Optional.of(testWallet));
+        
+        // When
+        List<OperationResult> results = walletService.processBatch(testWalletId, requests);
+        
+        // Then
+        assertEquals(3, results.size());
+        assertEquals(new BigDecimal("200.00"), results.get(0).getOrThrow().getBalance());
+        assertInstanceOf(InsufficientFundsException.class, results.get(1).getError());
+        assertEquals(new BigDecimal("300.00"), results.get(2).getOrThrow().getBalance());
+        verify(walletRepository, times(1)).findByIdWithLock(testWalletId);
+        verify(walletRepository, times(1)).save(testWallet);
+    }
+    
+    @Test
+    void testProcessBatch_WalletNotFound() {
+        // Given
+        List<WalletOperationRequest> requests = List.of(
+            new WalletOperationRequest(testWalletId, WalletOperationRequest.OperationType.DEPOSIT, new BigDecimal("100.00")),
+            new WalletOperationRequest(testWalletId, WalletOperationRequest.OperationType.DEPOSIT, new BigDecimal("200.00"))
+        );
+        
+        when(walletRepository.findByIdWithLock(testWalletId))
+            .thenReturn(Optional.empty());
+        
+        // When
+        List<OperationResult> results = walletService.processBatch(testWalletId, requests);
+        
+        // Then
+        assertEquals(2, results.size());
+        results.forEach(result ->
+            assertThrows(WalletNotFoundException.class, result::getOrThrow));
+        verify(walletRepository, never()).save(any());
+    }
+    
+    @Test
+    void testProcessOperation_LedgerMode_DelegatesToLedger() {
+        // Given
+        walletProperties.getLedger().setEnabled(true);
+        WalletOperationRequest request = new WalletOperationRequest(
+            testWalletId,
+            WalletOperationRequest.OperationType.DEPOSIT,
+            new BigDecimal("500.00")
+        );
+        WalletResponse ledgerResponse = new WalletResponse(testWalletId, new BigDecimal("1500.00"));
+        
+        when(walletLedgerService.processOperation(request))
+            .thenReturn(ledgerResponse);
+        
+        // When
+        WalletResponse response = walletService.processOperation(request);
+        
+        // Then
+        assertSame(ledgerResponse, response);
+        verify(walletRepository, never()).findByIdWithLock(any());
+        verify(walletRepository, never()).save(any());
+    }
+    
+    @Test
+    void testProcessChunk_LocksAllWalletsOnceAndReportsPerItem() {
+        // Given
+        UUID otherWalletId = UUID.randomUUID();
+        Wallet otherWallet = new Wallet(otherWalletId);
+        UUID missingWalletId = UUID.randomUUID();
+        List<WalletOperationRequest> requests = List.of(
+            new WalletOperationRequest(testWalletId, WalletOperationRequest.OperationType.WITHDRAW, new BigDecimal("100.00")),
+            new WalletOperationRequest(otherWalletId, WalletOperationRequest.OperationType.WITHDRAW, new BigDecimal("1.00")),
+            new WalletOperationRequest(missingWalletId, WalletOperationRequest.OperationType.DEPOSIT, new BigDecimal("1.00")),
+            new WalletOperationRequest(otherWalletId, WalletOperationRequest.OperationType.DEPOSIT, new BigDecimal("50.00"))
+        );
+        
+        when(walletRepository.findAllByIdWithLock(anyCollection()))
+            .thenReturn(List.of(testWallet, otherWallet));
+        
+        // When
+        List<OperationResult> results = walletService.processChunk(requests);
+        
+        // Then
+        assertEquals(4, results.size());
+        assertEquals(new BigDecimal("900.00"), results.get(0).getOrThrow().getBalance());
+        assertInstanceOf(InsufficientFundsException.class, results.get(1).getError());
+        assertInstanceOf(WalletNotFoundException.class, results.get(2).getError());
+        assertEquals(new BigDecimal("50.00"), results.get(3).getOrThrow().getBalance());
+        verify(walletRepository, times(1)).findAllByIdWithLock(anyCollection());
+        verify(walletRepository, never()).findByIdWithLock(any());
+    }
+    
+    @Test
+    void testTransfer_Success() {
+        // Given
+        UUID targetWalletId = UUID.randomUUID();
+        Wallet targetWallet = new Wallet(targetWalletId);
+        TransferRequest request = new TransferRequest(testWalletId, targetWalletId, new BigDecimal("250.00"));
+        
+        when(walletRepository.findAllByIdWithLock(anyCollection()))
+            .thenReturn(List.of(testWallet, targetWallet));
+        
+        // When
+        TransferResponse response = walletService.transfer(request);
+        
+        // Then
+        assertEquals(new BigDecimal("750.00"), response.getFrom().getBalance());
+        assertEquals(new BigDecimal("250.00"), response.getTo().getBalance());
+        verify(walletRepository, times(1)).findAllByIdWithLock(anyCollection());
+        verify(walletRepository).saveAll(List.of(testWallet, targetWallet));
+    }
+    
+    @Test
+    void testTransfer_InsufficientFunds() {
+        // Given
+        UUID targetWalletId = UUID.randomUUID();
+        Wallet targetWallet = new Wallet(targetWalletId);
+        TransferRequest request = new TransferRequest(testWalletId, targetWalletId, new BigDecimal("1000.01"));
+        
+        when(walletRepository.findAllByIdWithLock(anyCollection()))
+            .thenReturn(List.of(testWallet, targetWallet));
+        
+        // When & Then
+        assertThrows(InsufficientFundsException.class, () -> walletService.transfer(request));
+        assertEquals(BigDecimal.ZERO, targetWallet.getBalance());
+        verify(walletRepository, never()).saveAll(any());
+    }
+    
+    @Test
+    void testTransfer_TargetNotFound() {
+        // Given
+        TransferRequest request = new TransferRequest(testWalletId, UUID.randomUUID(), new BigDecimal("10.00"));
+        
+        when(walletRepository.findAllByIdWithLock(anyCollection()))
+            .thenReturn(List.of(testWallet));
+        
+        // When & Then
+        assertThrows(WalletNotFoundException.class, () -> walletService.transfer(request));
+        verify(walletRepository, never()).saveAll(any());
+    }
+    
+    @Test
+    void testTransfer_SameWallet() {
+        // Given
+        TransferRequest request = new TransferRequest(testWalletId, testWalletId, new BigDecimal("10.00"));
+        
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> walletService.transfer(request));
+        verifyNoInteractions(walletRepository);
+    }
+    
+    @Test
+    void testProcessOperation_ConditionalUpdate_Withdraw() {
+        // Given
+        walletProperties.setWritePath(WalletProperties.WritePath.CONDITIONAL_UPDATE);
+        WalletOperationRequest request = new WalletOperationRequest(
+            testWalletId,
+            WalletOperationRequest.OperationType.WITHDRAW,
+            new BigDecimal("300.00")
+        );
+        
+        when(walletRepository.applyDelta(testWalletId, -30000L))
+            .thenReturn(Optional.of(70000L));
+        
+        // When
+        WalletResponse response = walletService.processOperation(request);
+        
+        // Then
+        assertEquals(new BigDecimal("700.00"), response.getBalance());
+        verify(walletRepository, never()).findByIdWithLock(any());
+        verify(walletRepository, never()).existsById(any());
+        verify(walletRepository, never()).save(any());
+    }
+    
+    @Test
+    void testProcessOperation_ConditionalUpdate_InsufficientFunds() {
+        // Given
+        walletProperties.setWritePath(WalletProperties.WritePath.CONDITIONAL_UPDATE);
+        WalletOperationRequest request = new WalletOperationRequest(
+            testWalletId,
+            WalletOperationRequest.OperationType.WITHDRAW,
+            new BigDecimal("2000.00")
+        );
+        
+        when(walletRepository.applyDelta(testWalletId, -200000L))
+            .thenReturn(Optional.empty());
+        when(walletRepository.existsById(testWalletId))
+            .thenReturn(true);
+        
+        // When & Then
+        assertThrows(InsufficientFundsException.class, () -> walletService.processOperation(request));
+    }
+    
+    @Test
+    void testProcessOperation_ConditionalUpdate_WalletNotFound() {
+        // Given
+        walletProperties.setWritePath(WalletProperties.WritePath.CONDITIONAL_UPDATE);
+        WalletOperationRequest request = new WalletOperationRequest(
+            testWalletId,
+            WalletOperationRequest.OperationType.DEPOSIT,
+            new BigDecimal("100.00")
+        );
+        
+        when(walletRepository.applyDelta(testWalletId, 10000L))
+            .thenReturn(Optional.empty());
+        when(walletRepository.existsById(testWalletId))
+            .thenReturn(false);
+        
+        // When & Then
+        assertThrows(WalletNotFoundException.class, () -> walletService.processOperation(request));
+    }
+    
+    @Test
+    void testProcessOperation_JdbcPersistence_Withdraw() {
+        // Given
+        walletProperties.setPersistence(WalletProperties.Persistence.JDBC);
+        WalletOperationRequest request = new WalletOperationRequest(
+            testWalletId,
+            WalletOperationRequest.OperationType.WITHDRAW,
+            new BigDecimal("300.00")
+        );
+        
+        when(walletJdbcRepository.lockBalance(testWalletId))
+            .thenReturn(Optional.of(100000L));
+        
+        // When
+        WalletResponse response = walletService.processOperation(request);
+        
+        // Then
+        assertEquals(new BigDecimal("700.00"), response.getBalance());
+        verify(walletJdbcRepository).updateBalance(testWalletId, 70000L);
+        verifyNoInteractions(walletRepository);
+    }
+    
+    @Test
+    void testProcessOperation_JdbcPersistence_InsufficientFunds() {
+        // Given
+        walletProperties.setPersistence(WalletProperties.Persistence.JDBC);
+        WalletOperationRequest request = new WalletOperationRequest(
+            testWalletId,
+            WalletOperationRequest.OperationType.WITHDRAW,
+            new BigDecimal("2000.00")
+        );
+        
+        when(walletJdbcRepository.lockBalance(testWalletId))
+            .thenReturn(Optional.of(100000L));
+        
+        // When & Then
+        assertThrows(InsufficientFundsException.class, () -> walletService.processOperation(request));
+        verify(walletJdbcRepository, never()).updateBalance(any(), anyLong());
+    }
+    
+    @Test
+    void testGetWalletBalance_JdbcPersistence_NotFound() {
+        // Given
+        walletProperties.setPersistence(WalletProperties.Persistence.JDBC);
+        when(walletJdbcRepository.findBalance(testWalletId))
+            .thenReturn(Optional.empty());
+        
+        // When & Then
+        assertThrows(WalletNotFoundException.class, () -> walletService.getWalletBalance(testWalletId));
+        verifyNoInteractions(walletRepository);
+    }
+    
+    @Test
+    void testProcessOperation_Deposit_Overflow() {
+        // Given
+        testWallet.setBalanceMinor(Long.MAX_VALUE - 1);
+        WalletOperationRequest request = new WalletOperationRequest(
+            testWalletId,
+            WalletOperationRequest.OperationType.DEPOSIT,
+            new BigDecimal("0.02")
+        );
+        
+        when(walletRepository.findByIdWithLock(testWalletId))
+            .thenReturn(Optional.of(testWallet));
+        
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> walletService.processOperation(request));
+        assertEquals(Long.MAX_VALUE - 1, testWallet.getBalanceMinor());
+        verify(walletRepository, never()).save(any());
+    }
+    
+    @Test
+    void testProcessOperation_FractionalCent_Rejected() {
+        // Given
+        WalletOperationRequest request = new WalletOperationRequest(
+            testWalletId,
+            WalletOperationRequest.OperationType.DEPOSIT,
+            new BigDecimal("10.005")
+        );
+        
+        when(walletRepository.findByIdWithLock(testWalletId))
+            .thenReturn(Optional.of(testWallet));
+        
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> walletService.processOperation(request));
+        assertEquals(new BigDecimal("1000.00"), testWallet.getBalance());
+    }
+}
@@ -0,0 +1,163 @@
+package com.BankingSystem.Account.service;
+
+import com.BankingSystem.Account.config.WalletProperties;
+import com.BankingSystem.Account.dto.WalletOperationRequest;
+import com.BankingSystem.Account.dto.WalletResponse;
+import com.BankingSystem.Account.exception.InsufficientFundsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WalletShardedEngineTest {
+    
+    @Mock
+    private WalletService walletService;
+    
+    private WalletProperties walletProperties;
+    private SimpleMeterRegistry meterRegistry;
+    private WalletShardedEngine walletShardedEngine;
+    
+    private UUID testWalletId;
+    
+    @BeforeEach
+    void setUp() {
+        walletProperties = new WalletProperties();
+        walletProperties.getSharding().setEnabled(true);
+        walletProperties.getSharding().setShards(1);
+        meterRegistry = new SimpleMeterRegistry();
+        walletShardedEngine = new WalletShardedEngine(walletService, walletProperties,
+            new ConcurrentMapCacheManager(), meterRegistry);
+        testWalletId = UUID.randomUUID();
+    }
+    
+    @AfterEach
+    void tearDown() {
+        walletShardedEngine.shutdown();
+    }
+    
+    @Test
+    void testQueuedOperationsAreGroupCommittedInOrder() throws Exception {
+        // Given: the first commit is held open so the next operations queue up behind it
+        CountDownLatch firstCommitStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstCommit = new CountDownLatch(1);
+        List<Integer> commitSizes = new ArrayList<>();
+        when(walletService.processChunk(anyList())).thenAnswer(invocation -> {
+            List<WalletOperationRequest> requests = invocation.getArgument(0);
+            commitSizes.add(requests.size());
+            if (commitSizes.size() == 1) {
+                firstCommitStarted.countDown();
+                releaseFirstCommit.await(5, TimeUnit.SECONDS);
+            }
+            List<OperationResult> results = new ArrayList<>();
+            for (WalletOperationRequest request : requests) {
+                results.add(OperationResult.success(new WalletResponse(request.getValletId(), request.getAmount())));
+            }
+            return results;
+        });
+        
+        // When
+        CompletableFuture<WalletResponse> first = walletShardedEngine.submit(deposit("1.00"));
+        assertTrue(firstCommitStarted.await(5, TimeUnit.SECONDS));
+        List<CompletableFuture<WalletResponse>> queued = new ArrayList<>();
+        for (int i = 2; i <= 5; i++) {
+            queued.add(walletShardedEngine.submit(deposit(i + ".00")));
+        }
+        releaseFirstCommit.countDown();
+        
+        // Then: one commit for the first operation, one for everything queued meanwhile
+        assertEquals(new BigDecimal("1.00"), first.get(5, TimeUnit.SECONDS).getBalance());
+        for (int i = 0; i < queued.size(); i++) {
+            assertEquals(new BigDecimal((i + 2) + ".00"), queued.get(i).get(5, TimeUnit.SECONDS).getBalance());
+        }
+        assertEquals(List.of(1, 4), commitSizes);
+        assertEquals(5, meterRegistry.get("wallet.shard.latency").tag("shard", "0").timer().count());
+        assertEquals(0.0, meterRegistry.get("wallet.shard.queue.depth").tag("shard", "0").gauge().value());
+    }
+    
+    @Test
+    void testFailedOperationCompletesExceptionally() {
+        // Given
+        when(walletService.processChunk(anyList()))
+            .thenReturn(List.of(OperationResult.failure(new InsufficientFundsException("Insufficient funds"))));
+        
+        // When
+        CompletableFuture<WalletResponse> future = walletShardedEngine.submit(deposit("1.00"));
+        
+        // Then
+        ExecutionException error = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(InsufficientFundsException.class, error.getCause());
+    }
+    
+    @Test
+    void testErrorFailsBatchAndShardKeepsRunning() throws Exception {
+        // Given: the first commit dies with an Error, the next one succeeds
+        when(walletService.processChunk(anyList()))
+            .thenThrow(new StackOverflowError())
+            .thenReturn(List.of(OperationResult.success(new WalletResponse(testWalletId, BigDecimal.ONE))));
+        
+        // When
+        CompletableFuture<WalletResponse> failed = walletShardedEngine.submit(deposit("1.00"));
+        ExecutionException error = assertThrows(ExecutionException.class, () -> failed.get(5, TimeUnit.SECONDS));
+        CompletableFuture<WalletResponse> next = walletShardedEngine.submit(deposit("1.00"));
+        
+        // Then
+        assertInstanceOf(StackOverflowError.class, error.getCause());
+        assertEquals(BigDecimal.ONE, next.get(5, TimeUnit.SECONDS).getBalance());
+    }
+    
+    @Test
+    void testCancelledOperationIsSkipped() throws Exception {
+        // Given: the shard is busy with a first commit
+        CountDownLatch firstCommitStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstCommit = new CountDownLatch(1);
+        List<Integer> commitSizes = new ArrayList<>();
+        when(walletService.processChunk(anyList())).thenAnswer(invocation -> {
+            List<WalletOperationRequest> requests = invocation.getArgument(0);
+            commitSizes.add(requests.size());
+            if (commitSizes.size() == 1) {
+                firstCommitStarted.countDown();
+                releaseFirstCommit.await(5, TimeUnit.SECONDS);
+            }
+            return requests.stream()
+                .map(request -> OperationResult.success(new WalletResponse(request.getValletId(), request.getAmount())))
+                .toList();
+        });
+        CompletableFuture<WalletResponse> first = walletShardedEngine.submit(deposit("1.00"));
+        assertTrue(firstCommitStarted.await(5, TimeUnit.SECONDS));
+        
+        // When: a queued operation is withdrawn, the one being committed cannot be
+        CompletableFuture<WalletResponse> withdrawn = walletShardedEngine.submit(deposit("2.00"));
+        CompletableFuture<WalletResponse> kept = walletShardedEngine.submit(deposit("3.00"));
+        assertTrue(withdrawn.cancel(false));
+        assertFalse(first.cancel(false));
+        releaseFirstCommit.countDown();
+        
+        // Then
+        assertEquals(new BigDecimal("3.00"), kept.get(5, TimeUnit.SECONDS).getBalance());
+        assertEquals(new BigDecimal("1.00"), first.get(5, TimeUnit.SECONDS).getBalance());
+        assertEquals(List.of(1, 1), commitSizes);
+    }
+    
+    private WalletOperationRequest deposit(String amount) {
+        return new WalletOperationRequest(testWalletId, WalletOperationRequest.OperationType.DEPOSIT, new BigDecimal(amount));
+    }
+}
@@ -0,0 +1,89 @@
+package com.BankingSystem.Account.service;
+
+import com.BankingSystem.Account.dto.WalletOperationRequest;
+import com.BankingSystem.Account.dto.WalletResponse;
+import com.BankingSystem.Account.exception.InsufficientFundsException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The sharded single-writer engine under 50 client threads spread over a handful of wallets.
+ * Row locking and the shards are compared in ops/sec by the JMH DepositThroughputBenchmark.
+ */
+class WalletShardedThroughputTest extends ConcurrentLoadTestSupport {
+    
+    @DynamicPropertySource
+    static void configureShards(DynamicPropertyRegistry registry) {
+        registry.add("wallet.sharding.shards", () -> "4");
+    }
+    
+    private static final int WALLET_COUNT = 8;
+    private static final int OPERATION_COUNT = 400;
+    private static final int CLIENT_THREADS = 50;
+    private static final BigDecimal DEPOSIT_AMOUNT = new BigDecimal("1.00");
+    
+    @Autowired
+    private WalletService walletService;
+    
+    @Autowired
+    private WalletShardedEngine walletShardedEngine;
+    
+    private List<UUID> walletIds;
+    
+    @BeforeEach
+    void setUp() {
+        walletIds = createWallets(WALLET_COUNT);
+    }
+    
+    @Test
+    void testSharded_AppliesEveryConcurrentDeposit() throws InterruptedException {
+        runConcurrently(CLIENT_THREADS, OPERATION_COUNT, i -> walletShardedEngine.submit(new WalletOperationRequest(
+            walletIds.get(i % WALLET_COUNT),
+            WalletOperationRequest.OperationType.DEPOSIT,
+            DEPOSIT_AMOUNT
+        )).join());
+        
+        BigDecimal perWallet = DEPOSIT_AMOUNT.multiply(new BigDecimal(OPERATION_COUNT / WALLET_COUNT));
+        for (UUID walletId : walletIds) {
+            assertEquals(0, perWallet.compareTo(walletService.getWalletBalance(walletId).getBalance()));
+        }
+    }
+    
+    @Test
+    void testSharded_RejectsOnlyOverdrawingWithdrawals() throws Exception {
+        UUID walletId = walletIds.get(0);
+        List<CompletableFuture<WalletResponse>> futures = new ArrayList<>();
+        for (int i = 0; i < 150; i++) {
+            WalletOperationRequest.OperationType type = (i % 3 == 0)
+                ? WalletOperationRequest.OperationType.DEPOSIT
+                : WalletOperationRequest.OperationType.WITHDRAW;
+            futures.add(walletShardedEngine.submit(new WalletOperationRequest(walletId, type, DEPOSIT_AMOUNT)));
+        }
+        
+        int rejected = 0;
+        for (CompletableFuture<WalletResponse> future : futures) {
+            try {
+                future.get(60, TimeUnit.SECONDS);
+            } catch (ExecutionException e) {
+                assertInstanceOf(InsufficientFundsException.class, e.getCause());
+                rejected++;
+            }
+        }
+        
+        BigDecimal expected = DEPOSIT_AMOUNT.multiply(new BigDecimal(50 - (100 - rejected)));
+        assertEquals(0, expected.compareTo(walletService.getWalletBalance(walletId).getBalance()));
+    }
+}
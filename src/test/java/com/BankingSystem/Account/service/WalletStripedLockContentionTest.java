@@ -0,0 +1,55 @@
+package com.BankingSystem.Account.service;
+
+import com.BankingSystem.Account.config.WalletProperties;
+import com.BankingSystem.Account.dto.WalletOperationRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 100 threads on one hot wallet with the stripe lock on. The latency an unrelated wallet
+ * sees meanwhile, with and without striping, is measured by the JMH StripedLockContentionBenchmark.
+ */
+class WalletStripedLockContentionTest extends ConcurrentLoadTestSupport {
+    
+    private static final int HOT_THREADS = 100;
+    private static final int CHECKED_OPERATIONS = 200;
+    private static final BigDecimal AMOUNT = new BigDecimal("1.00");
+    
+    @Autowired
+    private WalletService walletService;
+    
+    @Autowired
+    private WalletProperties walletProperties;
+    
+    private UUID hotWalletId;
+    
+    @BeforeEach
+    void setUp() {
+        hotWalletId = createWallets(1).get(0);
+        walletProperties.getLockStriping().setEnabled(true);
+        walletProperties.getLockStriping().setMaxWait(Duration.ofSeconds(60));
+    }
+    
+    @AfterEach
+    void tearDown() {
+        walletProperties.getLockStriping().setEnabled(false);
+        walletProperties.getLockStriping().setMaxWait(Duration.ofSeconds(2));
+    }
+    
+    @Test
+    void testStriping_NoLostUpdates() throws Exception {
+        runConcurrently(HOT_THREADS, CHECKED_OPERATIONS, i -> walletService.processOperation(
+            new WalletOperationRequest(hotWalletId, WalletOperationRequest.OperationType.DEPOSIT, AMOUNT)));
+        
+        assertEquals(0, AMOUNT.multiply(new BigDecimal(CHECKED_OPERATIONS))
+            .compareTo(walletService.getWalletBalance(hotWalletId).getBalance()));
+    }
+}
@@ -0,0 +1,120 @@
+package com.BankingSystem.Account.service;
+
+import com.BankingSystem.Account.config.WalletProperties;
+import com.BankingSystem.Account.dto.WalletOperationRequest;
+import com.BankingSystem.Account.exception.ServiceBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.AspectJExpressionPointcut;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class WalletStripedLockTest {
+    
+    private WalletProperties walletProperties;
+    private SimpleMeterRegistry meterRegistry;
+    private WalletStripedLock walletStripedLock;
+    
+    @BeforeEach
+    void setUp() {
+        walletProperties = new WalletProperties();
+        walletProperties.getLockStriping().setEnabled(true);
+        walletProperties.getLockStriping().setStripes(16);
+        walletProperties.getLockStriping().setMaxWait(Duration.ofMillis(50));
+        meterRegistry = new SimpleMeterRegistry();
+        walletStripedLock = new WalletStripedLock(walletProperties, meterRegistry);
+    }
+    
+    @Test
+    void testSameWalletQueuesAndTimesOut_OtherWalletProceeds() throws Throwable {
+        // Given: one operation holds the stripe of the hot wallet
+        UUID hotWalletId = UUID.randomUUID();
+        UUID otherWalletId = walletOnAnotherStripe(hotWalletId);
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ProceedingJoinPoint slowCall = mock(ProceedingJoinPoint.class);
+        when(slowCall.proceed()).thenAnswer(invocation -> {
+            entered.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return "slow";
+        });
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        Future<Object> holder = executorService.submit(() -> {
+            try {
+                return walletStripedLock.lockOperation(slowCall, request(hotWalletId));
+            } catch (Throwable e) {
+                throw new RuntimeException(e);
+            }
+        });
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+        
+        // When & Then: the same wallet is rejected after max-wait, another wallet is not blocked
+        ProceedingJoinPoint rejectedCall = mock(ProceedingJoinPoint.class);
+        assertThrows(ServiceBusyException.class,
+            () -> walletStripedLock.lockOperation(rejectedCall, request(hotWalletId)));
+        verify(rejectedCall, never()).proceed();
+        assertEquals(1.0, meterRegistry.get("wallet.stripe.rejections").counter().count());
+        assertEquals(1.0, meterRegistry.get("wallet.stripe.acquisitions").tag("contended", "true").counter().count());
+        
+        ProceedingJoinPoint otherCall = mock(ProceedingJoinPoint.class);
+        when(otherCall.proceed()).thenReturn("other");
+        assertEquals("other", walletStripedLock.lockBatch(otherCall, otherWalletId));
+        
+        release.countDown();
+        assertEquals("slow", holder.get(5, TimeUnit.SECONDS));
+        executorService.shutdown();
+        
+        // The stripe is free again once the first operation finished
+        ProceedingJoinPoint nextCall = mock(ProceedingJoinPoint.class);
+        when(nextCall.proceed()).thenReturn("next");
+        assertEquals("next", walletStripedLock.lockOperation(nextCall, request(hotWalletId)));
+        assertEquals(0.0, meterRegistry.get("wallet.stripe.waiting").gauge().value());
+    }
+    
+    @Test
+    void testDisabledStripingPassesThrough() throws Throwable {
+        walletProperties.getLockStriping().setEnabled(false);
+        ProceedingJoinPoint call = mock(ProceedingJoinPoint.class);
+        when(call.proceed()).thenReturn("ok");
+        
+        assertEquals("ok", walletStripedLock.lockOperation(call, request(UUID.randomUUID())));
+        assertEquals(0.0, meterRegistry.get("wallet.stripe.acquisitions").tag("contended", "false").counter().count());
+    }
+    
+    @Test
+    void testCoversIdempotentOperations() throws Exception {
+        AspectJExpressionPointcut pointcut = new AspectJExpressionPointcut();
+        pointcut.setExpression(WalletStripedLock.OPERATIONS);
+        pointcut.setParameterNames("request");
+        pointcut.setParameterTypes(WalletOperationRequest.class);
+        
+        assertTrue(pointcut.matches(WalletService.class.getMethod("processOperation",
+            WalletOperationRequest.class), WalletService.class));
+        assertTrue(pointcut.matches(WalletService.class.getMethod("processOperation",
+            WalletOperationRequest.class, String.class), WalletService.class));
+    }
+    
+    private UUID walletOnAnotherStripe(UUID walletId) {
+        UUID candidate = UUID.randomUUID();
+        while (walletStripedLock.stripeFor(candidate) == walletStripedLock.stripeFor(walletId)) {
+            candidate = UUID.randomUUID();
+        }
+        return candidate;
+    }
+    
+    private static WalletOperationRequest request(UUID walletId) {
+        return new WalletOperationRequest(walletId, WalletOperationRequest.OperationType.DEPOSIT, new BigDecimal("1.00"));
+    }
+}
@@ -0,0 +1,110 @@
+package com.BankingSystem.Account.service;
+
+import com.BankingSystem.Account.dto.TransferRequest;
+import com.BankingSystem.Account.entity.Wallet;
+import com.BankingSystem.Account.exception.InsufficientFundsException;
+import com.BankingSystem.Account.repository.WalletRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Testcontainers
+class WalletTransferConcurrencyTest {
+    
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15")
+        .withDatabaseName("wallet_test_db")
+        .withUsername("test")
+        .withPassword("test");
+    
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+    
+    private static final BigDecimal OPENING_BALANCE = new BigDecimal("1000.00");
+    
+    @Autowired
+    private WalletService walletService;
+    
+    @Autowired
+    private WalletRepository walletRepository;
+    
+    private List<UUID> walletIds;
+    
+    @BeforeEach
+    void setUp() {
+        walletRepository.deleteAll();
+        walletIds = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            UUID walletId = UUID.randomUUID();
+            Wallet wallet = new Wallet(walletId);
+            wallet.setBalance(OPENING_BALANCE);
+            walletRepository.save(wallet);
+            walletIds.add(walletId);
+        }
+    }
+    
+    @Test
+    void testRandomCrossTransfers_ConserveMoneyWithoutDeadlocks() throws InterruptedException {
+        int transferCount = 1000;
+        ExecutorService executorService = Executors.newFixedThreadPool(50);
+        CountDownLatch latch = new CountDownLatch(transferCount);
+        AtomicInteger successCount = new AtomicInteger(0);
+        AtomicInteger rejectedCount = new AtomicInteger(0);
+        AtomicInteger errorCount = new AtomicInteger(0);
+        
+        for (int i = 0; i < transferCount; i++) {
+            executorService.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                int from = random.nextInt(walletIds.size());
+                int to = (from + 1 + random.nextInt(walletIds.size() - 1)) % walletIds.size();
+                BigDecimal amount = BigDecimal.valueOf(random.nextInt(1, 5000), 2);
+                try {
+                    walletService.transfer(new TransferRequest(walletIds.get(from), walletIds.get(to), amount));
+                    successCount.incrementAndGet();
+                } catch (InsufficientFundsException e) {
+                    rejectedCount.incrementAndGet();
+                } catch (Exception e) {
+                    errorCount.incrementAndGet();
+                    System.err.println("Transfer failed: " + e);
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        
+        assertTrue(latch.await(120, TimeUnit.SECONDS));
+        executorService.shutdown();
+        
+        // Deadlocks and lock-retry exhaustion would show up here
+        assertEquals(0, errorCount.get(), "No transfer should fail other than for insufficient funds");
+        assertEquals(transferCount, successCount.get() + rejectedCount.get());
+        
+        BigDecimal total = BigDecimal.ZERO;
+        for (UUID walletId : walletIds) {
+            BigDecimal balance = walletService.getWalletBalance(walletId).getBalance();
+            assertTrue(balance.signum() >= 0);
+            total = total.add(balance);
+        }
+        assertEquals(OPENING_BALANCE.multiply(new BigDecimal(walletIds.size())), total);
+    }
+}
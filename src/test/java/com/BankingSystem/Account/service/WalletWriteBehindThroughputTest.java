@@ -0,0 +1,82 @@
+package com.BankingSystem.Account.service;
+
+import com.BankingSystem.Account.dto.WalletOperationRequest;
+import com.BankingSystem.Account.dto.WalletResponse;
+import com.BankingSystem.Account.entity.Wallet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Journaled write-behind deposits under 50 client threads spread over a handful of wallets.
+ * Row locking and write-behind are compared in ops/sec by the JMH DepositThroughputBenchmark.
+ */
+class WalletWriteBehindThroughputTest extends ConcurrentLoadTestSupport {
+    
+    @DynamicPropertySource
+    static void configureWriteBehind(DynamicPropertyRegistry registry) throws IOException {
+        String journalDirectory = Files.createTempDirectory("deposit-journal").toString();
+        registry.add("wallet.write-behind.enabled", () -> "true");
+        registry.add("wallet.write-behind.directory", () -> journalDirectory);
+    }
+    
+    private static final int WALLET_COUNT = 8;
+    private static final int OPERATION_COUNT = 400;
+    private static final int CLIENT_THREADS = 50;
+    private static final BigDecimal DEPOSIT_AMOUNT = new BigDecimal("1.00");
+    
+    @Autowired
+    private WalletService walletService;
+    
+    @Autowired
+    private WalletDepositJournal walletDepositJournal;
+    
+    private List<UUID> walletIds;
+    
+    @BeforeEach
+    void setUp() {
+        walletIds = createWallets(WALLET_COUNT);
+    }
+    
+    @Test
+    void testWriteBehind_AppliesEveryAcknowledgedDeposit() throws InterruptedException {
+        runConcurrently(CLIENT_THREADS, OPERATION_COUNT, i -> walletDepositJournal.deposit(new WalletOperationRequest(
+            walletIds.get(i % WALLET_COUNT),
+            WalletOperationRequest.OperationType.DEPOSIT,
+            DEPOSIT_AMOUNT
+        )));
+        
+        BigDecimal perWallet = DEPOSIT_AMOUNT.multiply(new BigDecimal(OPERATION_COUNT / WALLET_COUNT));
+        for (UUID walletId : walletIds) {
+            assertEquals(0, perWallet.compareTo(walletDepositJournal.getBalance(walletId).getBalance()));
+            // Once flushed, the wallet row alone carries every acknowledged deposit
+            walletDepositJournal.awaitApplied(walletId);
+            Wallet wallet = walletRepository.findById(walletId).orElseThrow();
+            assertEquals(0, perWallet.compareTo(wallet.getBalance()));
+        }
+    }
+    
+    @Test
+    void testWriteBehind_WithdrawalSeesAcknowledgedDeposits() {
+        UUID walletId = walletIds.get(0);
+        walletDepositJournal.deposit(new WalletOperationRequest(
+            walletId, WalletOperationRequest.OperationType.DEPOSIT, new BigDecimal("10.00")));
+        
+        walletDepositJournal.awaitApplied(walletId);
+        WalletResponse response = walletService.processOperation(new WalletOperationRequest(
+            walletId, WalletOperationRequest.OperationType.WITHDRAW, new BigDecimal("10.00")));
+        
+        assertEquals(0, BigDecimal.ZERO.compareTo(response.getBalance()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(walletDepositJournal.getBalance(walletId).getBalance()));
+    }
+}
@@ -0,0 +1,71 @@
+package com.BankingSystem.Account.service;
+
+import com.BankingSystem.Account.config.WalletProperties;
+import com.BankingSystem.Account.dto.WalletOperationRequest;
+import com.BankingSystem.Account.entity.Wallet;
+import com.BankingSystem.Account.exception.InsufficientFundsException;
+import com.BankingSystem.Account.exception.WalletNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The conditional-update write path under a mixed deposit/withdraw load on one hot wallet.
+ * The two write paths are compared in ops/sec by the JMH ProcessOperationBenchmark.
+ */
+class WalletWritePathThroughputTest extends ConcurrentLoadTestSupport {
+    
+    private static final int OPERATION_COUNT = 200;
+    private static final int CLIENT_THREADS = 50;
+    private static final BigDecimal OPENING_BALANCE = new BigDecimal("1000.00");
+    private static final BigDecimal AMOUNT = new BigDecimal("1.00");
+    
+    @Autowired
+    private WalletService walletService;
+    
+    @Autowired
+    private WalletProperties walletProperties;
+    
+    private UUID testWalletId;
+    
+    @BeforeEach
+    void setUp() {
+        testWalletId = createWallets(1).get(0);
+        Wallet wallet = walletRepository.findById(testWalletId).orElseThrow();
+        wallet.setBalance(OPENING_BALANCE);
+        walletRepository.save(wallet);
+        walletProperties.setWritePath(WalletProperties.WritePath.CONDITIONAL_UPDATE);
+    }
+    
+    @AfterEach
+    void tearDown() {
+        walletProperties.setWritePath(WalletProperties.WritePath.LOCKING_SELECT);
+    }
+    
+    @Test
+    void testConditionalUpdate_NoLostUpdates() throws InterruptedException {
+        runConcurrently(CLIENT_THREADS, OPERATION_COUNT, i -> walletService.processOperation(new WalletOperationRequest(
+            testWalletId,
+            i % 2 == 0 ? WalletOperationRequest.OperationType.DEPOSIT : WalletOperationRequest.OperationType.WITHDRAW,
+            AMOUNT
+        )));
+        
+        // As many deposits as withdrawals
+        assertEquals(0, OPENING_BALANCE.compareTo(walletService.getWalletBalance(testWalletId).getBalance()));
+    }
+    
+    @Test
+    void testConditionalUpdate_DistinguishesFailures() {
+        assertThrows(InsufficientFundsException.class, () -> walletService.processOperation(
+            new WalletOperationRequest(testWalletId, WalletOperationRequest.OperationType.WITHDRAW, OPENING_BALANCE.add(new BigDecimal("0.01")))));
+        assertThrows(WalletNotFoundException.class, () -> walletService.processOperation(
+            new WalletOperationRequest(UUID.randomUUID(), WalletOperationRequest.OperationType.DEPOSIT, AMOUNT)));
+        assertEquals(OPENING_BALANCE, walletService.getWalletBalance(testWalletId).getBalance());
+    }
+}